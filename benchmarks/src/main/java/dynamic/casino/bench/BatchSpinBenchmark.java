@@ -0,0 +1,53 @@
+package dynamic.casino.bench;
+
+import dynamic.casino.BatchSpinEvaluator;
+import dynamic.casino.RandomNumberGenerator;
+import dynamic.casino.SpinEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Пакет из BATCH спинов: поспиновый SpinEngine против пакетного пути
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchSpinBenchmark {
+    private static final int BATCH = BatchSpinEvaluator.DEFAULT_BATCH_SIZE;
+
+    @Param({"3", "5", "10"})
+    public int columns;
+
+    @Param({"8"})
+    public int symbols;
+
+    private RandomNumberGenerator rng;
+    private SpinEngine engine;
+    private BatchSpinEvaluator batch;
+
+    @Setup
+    public void setUp() {
+        rng = RandomGenerators.create("xoshiro256");
+        engine = new SpinEngine(columns, columns <= 5 ? 1 : 2, symbols, rng);
+        batch = new BatchSpinEvaluator(columns, symbols, BATCH, null);
+        batch.generate(rng, BATCH);
+    }
+
+    @Benchmark
+    public long perSpin() {
+        return engine.countWins(BATCH);
+    }
+
+    @Benchmark
+    public long batch() {
+        return batch.countWins(rng, BATCH);
+    }
+
+    // Только сравнение колонок на готовых остановках
+    @Benchmark
+    public int evaluateOnly() {
+        return batch.evaluate(BATCH);
+    }
+}
@@ -0,0 +1,67 @@
+package dynamic.casino.bench;
+
+import dynamic.casino.ProgressiveJackpot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Взносы в джекпот со всех ядер сразу: полосы против одного AtomicLong и общего замка.
+// Запуск с разным числом потоков: -t 1, -t 2, ... или по умолчанию все ядра
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class JackpotBenchmark {
+    private ProgressiveJackpot jackpot;
+    private final AtomicLong single = new AtomicLong();
+    private final LongAdder adder = new LongAdder();
+    private final Object lock = new Object();
+    private long locked;
+
+    @Setup
+    public void setUp() {
+        jackpot = new ProgressiveJackpot(1000, 0.01, 0.005);
+    }
+
+    @Benchmark
+    public void striped() {
+        jackpot.contribute(1);
+    }
+
+    @Benchmark
+    public void longAdder() {
+        adder.add(10);
+    }
+
+    @Benchmark
+    public long atomicLong() {
+        return single.addAndGet(10);
+    }
+
+    @Benchmark
+    public void synchronizedLong() {
+        synchronized (lock) {
+            locked += 10;
+        }
+    }
+
+    // Взносы вперемешку с редкими выплатами: выплата не должна тормозить взносы
+    @Benchmark
+    @Group("payout")
+    @GroupThreads(7)
+    public void contributeWhilePaying() {
+        jackpot.contribute(1);
+    }
+
+    @Benchmark
+    @Group("payout")
+    @GroupThreads(1)
+    public long payoutWhileContributing() {
+        return jackpot.payout();
+    }
+}
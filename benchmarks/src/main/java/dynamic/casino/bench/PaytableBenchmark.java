@@ -0,0 +1,61 @@
+package dynamic.casino.bench;
+
+import dynamic.casino.Paytable;
+import dynamic.casino.RandomNumberGenerator;
+import dynamic.casino.ReelWeights;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Выплата по таблице против поиска серии по колонкам
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PaytableBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"3", "5", "7", "10"})
+    public int columns;
+
+    @Param({"8"})
+    public int symbols;
+
+    private Paytable paytable;
+    private int[][] spins;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        paytable = Paytable.forTargetRtp(ReelWeights.uniform(columns, symbols), 0.95);
+        RandomNumberGenerator rng = RandomGenerators.create("xoshiro256");
+        spins = new int[BATCH][columns];
+        for (int[] stops : spins) {
+            // Каждая восьмая комбинация — выигрышная, чтобы проверялась и длинная серия
+            int first = rng.nextInt(symbols);
+            boolean line = rng.nextInt(8) == 0;
+            for (int col = 0; col < columns; col++) {
+                stops[col] = line ? first : rng.nextInt(symbols);
+            }
+        }
+    }
+
+    @Benchmark
+    public int lookup() {
+        int[] stops = spins[next++ & (BATCH - 1)];
+        return paytable.payout(stops);
+    }
+
+    @Benchmark
+    public int scan() {
+        int[] stops = spins[next++ & (BATCH - 1)];
+        int symbol = stops[0];
+        int run = 1;
+        while (run < columns && stops[run] == symbol) {
+            run++;
+        }
+        return paytable.getMultiplier(symbol, run);
+    }
+}
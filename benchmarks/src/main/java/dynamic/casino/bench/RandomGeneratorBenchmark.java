@@ -0,0 +1,39 @@
+package dynamic.casino.bench;
+
+import dynamic.casino.RandomNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomGeneratorBenchmark {
+
+    @Param({"default", "random", "splittable", "splitmix64", "xoshiro256"})
+    public String generator;
+
+    // Диапазон applySettings: от 1 до 8 символов
+    @Param({"3", "8"})
+    public int bound;
+
+    private RandomNumberGenerator rng;
+
+    @Setup
+    public void setUp() {
+        rng = RandomGenerators.create(generator);
+    }
+
+    @Benchmark
+    public int nextInt() {
+        return rng.nextInt(bound);
+    }
+
+    @Benchmark
+    public double nextDouble() {
+        return rng.nextDouble();
+    }
+}
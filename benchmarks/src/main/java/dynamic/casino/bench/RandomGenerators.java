@@ -0,0 +1,60 @@
+package dynamic.casino.bench;
+
+import dynamic.casino.DefaultRandomGenerator;
+import dynamic.casino.RandomNumberGenerator;
+import dynamic.casino.SplitMix64Generator;
+import dynamic.casino.Xoshiro256StarStarGenerator;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+// Реализации RandomNumberGenerator, которые сравниваются в бенчмарках
+final class RandomGenerators {
+    private RandomGenerators() {
+    }
+
+    static RandomNumberGenerator create(String name) {
+        switch (name) {
+            case "default":
+                return new DefaultRandomGenerator();
+            case "random":
+                return new JdkRandom();
+            case "splittable":
+                return new Splittable();
+            case "splitmix64":
+                return new SplitMix64Generator(42);
+            case "xoshiro256":
+                return new Xoshiro256StarStarGenerator(42);
+            default:
+                throw new IllegalArgumentException("Unknown generator: " + name);
+        }
+    }
+
+    private static final class JdkRandom implements RandomNumberGenerator {
+        private final Random random = new Random(42);
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return random.nextDouble();
+        }
+    }
+
+    private static final class Splittable implements RandomNumberGenerator {
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return random.nextDouble();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package dynamic.casino.bench;
+
+import dynamic.casino.RandomNumberGenerator;
+import dynamic.casino.ReelState;
+import dynamic.casino.SpinEngine;
+import dynamic.casino.SpinResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Запуск: java -jar target/benchmarks.jar SpinBenchmark -prof gc
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpinBenchmark {
+    private static final int WINDOW = 3;
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    public int columns;
+
+    @Param({"8"})
+    public int symbols;
+
+    @Param({"default", "splittable", "xoshiro256"})
+    public String generator;
+
+    private RandomNumberGenerator rng;
+    private SpinEngine engine;
+    private int[] stops;
+    private List<List<Integer>> reelSymbolIndices;
+    private ReelState reelState;
+
+    @Setup
+    public void setUp() {
+        rng = RandomGenerators.create(generator);
+        engine = new SpinEngine(columns, columns <= 5 ? 1 : 2, symbols, rng);
+        stops = new int[columns];
+
+        // То же представление, что строит createColumn
+        reelSymbolIndices = new ArrayList<>();
+        reelState = new ReelState(columns, WINDOW);
+        for (int col = 0; col < columns; col++) {
+            List<Integer> columnIndices = new ArrayList<>();
+            for (int i = 0; i < WINDOW; i++) {
+                int symbol = rng.nextInt(symbols);
+                columnIndices.add(symbol);
+                reelState.set(col, i, symbol);
+            }
+            reelSymbolIndices.add(columnIndices);
+        }
+    }
+
+    @Benchmark
+    public boolean engineSpinInto() {
+        return engine.spinInto(stops);
+    }
+
+    @Benchmark
+    public SpinResult engineSpin() {
+        return engine.spin();
+    }
+
+    @Benchmark
+    public boolean evaluate() {
+        return SpinEngine.isWin(stops, columns);
+    }
+
+    // Шаг барабана как в spinColumn: remove(0) + add(newIndex) для каждой колонки
+    @Benchmark
+    public List<List<Integer>> listReelStep() {
+        for (int col = 0; col < columns; col++) {
+            List<Integer> indices = reelSymbolIndices.get(col);
+            indices.remove(0);
+            indices.add(rng.nextInt(symbols));
+        }
+        return reelSymbolIndices;
+    }
+
+    // Проверка выигрыша как в checkWin: новый список верхних индексов и Integer.equals
+    @Benchmark
+    public boolean listCheckWin() {
+        List<Integer> topIndices = new ArrayList<>();
+        for (int col = 0; col < columns; col++) {
+            topIndices.add(reelSymbolIndices.get(col).get(0));
+        }
+        if (topIndices.size() < 2) {
+            return false;
+        }
+        Integer first = topIndices.get(0);
+        for (int i = 1; i < topIndices.size(); i++) {
+            if (!topIndices.get(i).equals(first)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public ReelState reelStateStep() {
+        for (int col = 0; col < columns; col++) {
+            reelState.rotate(col, rng.nextInt(symbols));
+        }
+        return reelState;
+    }
+
+    @Benchmark
+    public boolean reelStateCheckWin() {
+        return reelState.isTopRowWin();
+    }
+}
@@ -0,0 +1,46 @@
+package dynamic.casino.bench;
+
+import dynamic.casino.AliasTable;
+import dynamic.casino.RandomNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Взвешенный выбор через таблицу псевдонимов против равновероятного nextInt
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WeightedSamplingBenchmark {
+
+    @Param({"3", "8"})
+    public int symbols;
+
+    @Param({"xoshiro256", "splitmix64"})
+    public String generator;
+
+    private RandomNumberGenerator rng;
+    private AliasTable aliasTable;
+
+    @Setup
+    public void setUp() {
+        rng = RandomGenerators.create(generator);
+        double[] weights = new double[symbols];
+        for (int i = 0; i < symbols; i++) {
+            weights[i] = i + 1;
+        }
+        aliasTable = new AliasTable(weights);
+    }
+
+    @Benchmark
+    public int uniform() {
+        return rng.nextInt(symbols);
+    }
+
+    @Benchmark
+    public int alias() {
+        return aliasTable.sample(rng);
+    }
+}
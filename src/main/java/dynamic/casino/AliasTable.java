@@ -0,0 +1,79 @@
+package dynamic.casino;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Метод псевдонимов (Vose): выбор по весам за O(1) и одно обращение к генератору.
+// Построение — O(n), один раз на конфигурацию.
+public class AliasTable {
+    private final double[] probability;
+    private final int[] alias;
+
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("weights must not be empty");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Weights must not all be zero");
+        }
+
+        probability = new double[n];
+        alias = new int[n];
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small.push(more);
+            } else {
+                large.push(more);
+            }
+        }
+        // Остатки из-за погрешности округления — корзины, заполненные целиком
+        while (!large.isEmpty()) {
+            int i = large.pop();
+            probability[i] = 1;
+            alias[i] = i;
+        }
+        while (!small.isEmpty()) {
+            int i = small.pop();
+            probability[i] = 1;
+            alias[i] = i;
+        }
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    // Целая часть u * n выбирает корзину, дробная — саму корзину или её псевдоним
+    public int sample(RandomNumberGenerator rng) {
+        double u = rng.nextDouble() * probability.length;
+        int bucket = (int) u;
+        if (bucket >= probability.length) {
+            bucket = probability.length - 1;
+        }
+        return u - bucket < probability[bucket] ? bucket : alias[bucket];
+    }
+}
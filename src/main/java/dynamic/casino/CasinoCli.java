@@ -0,0 +1,402 @@
+package dynamic.casino;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Консольный режим без JavaFX: запускается с classpath, поэтому module-info
+// и зависимости javafx.* не загружаются.
+//   java -cp target/classes dynamic.casino.CasinoCli spins --columns 3 --symbols 5 --spins 1000000
+public class CasinoCli {
+
+    public static void main(String[] args) {
+        String command = args.length > 0 && !args[0].startsWith("--") ? args[0] : "spins";
+        int from = args.length > 0 && !args[0].startsWith("--") ? 1 : 0;
+
+        try {
+            Map<String, String> options = parseOptions(args, from);
+            switch (command) {
+                case "spins":
+                    runSpins(options);
+                    break;
+                case "verify":
+                    runVerify(options);
+                    break;
+                case "replay":
+                    runReplay(options);
+                    break;
+                case "rngtest":
+                    runRngTest(options);
+                    break;
+                case "serve":
+                    runServer(options);
+                    break;
+                case "load":
+                    runLoad(options);
+                    break;
+                case "sweep":
+                    runSweep(options);
+                    break;
+                default:
+                    usage("Unknown command: " + command);
+            }
+        } catch (IllegalArgumentException e) {
+            usage(e.getMessage());
+        }
+    }
+
+    private static void runSpins(Map<String, String> options) {
+        int columns = intOption(options, "columns", 3);
+        int symbols = intOption(options, "symbols", 8);
+        long spins = longOption(options, "spins", 1000);
+        int rows = rowsForColumns(columns);
+        boolean quiet = options.containsKey("quiet");
+        RandomNumberGenerator rng = generator(options);
+
+        long bet = longOption(options, "bet", 1);
+        ReelWeights weights = ReelWeights.parse(options.get("weights"), columns, symbols);
+        Paytable paytable = Paytable.forTargetRtp(weights, doubleOption(options, "rtp", 0.95));
+        SpinEngine engine = new SpinEngine(columns, rows, symbols, rng, weights, paytable);
+        double analytic = calculator(options).calculateWinProbability(columns, rows, weights);
+        double analyticRtp = new ProbabilityEngine().evaluate(new ProbabilityModel(
+            weights.toReels(), 1, ReelLayout.gameLines(columns), paytable.getLinePays())).getRtp();
+        CreditAccount account = new CreditAccount(0);
+        SplittableRandomNumberGenerator seeded = rng instanceof SplittableRandomNumberGenerator
+            ? (SplittableRandomNumberGenerator) rng : null;
+        // Без позиции генератора записи нельзя воспроизвести, и replay пропустил бы их все
+        if (options.containsKey("journal") && (seeded == null || seeded.getPosition() < 0)) {
+            throw new IllegalArgumentException("--journal needs a generator with a replayable position (--rng splitmix64)");
+        }
+        SpinJournal journal = options.containsKey("journal") ? openJournal(options.get("journal")) : null;
+
+        PrintStream out = openStdout();
+        int[] stops = new int[columns];
+        StringBuilder line = new StringBuilder(64);
+        long wins = 0;
+        long start = System.nanoTime();
+
+        for (long i = 1; i <= spins; i++) {
+            long position = seeded != null ? seeded.getPosition() : -1;
+            boolean win = engine.spinInto(stops);
+            if (win) {
+                wins++;
+            }
+            long payout = bet * paytable.payout(stops);
+            account.settle(payout);
+            if (journal != null) {
+                appendToJournal(journal, engine, seeded, position, stops, win, payout);
+            }
+            if (!quiet) {
+                line.setLength(0);
+                line.append(i).append('\t');
+                appendStops(line, stops);
+                line.append('\t').append(win ? "WIN" : "LOSE").append('\t').append(payout);
+                out.println(line);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        if (journal != null) {
+            journal.close();
+            out.printf("# journal=%s records=%d config=%d%n", journal.getDirectory(), journal.getSequence(), engine.getConfigId());
+        }
+        out.printf("# columns=%d rows=%d symbols=%d spins=%d wins=%d%n", columns, rows, symbols, spins, wins);
+        out.printf("# empirical=%.8f analytic=%.8f time=%.3fs%n",
+            spins == 0 ? 0 : (double) wins / spins, analytic, elapsed / 1e9);
+        out.printf("# bet=%d won=%d rtp=%.6f analyticRtp=%.6f%n",
+            bet * spins, account.getTotalWon(), spins == 0 ? 0 : (double) account.getTotalWon() / (bet * spins), analyticRtp);
+        out.flush();
+    }
+
+    private static SpinJournal openJournal(String directory) {
+        try {
+            return SpinJournal.open(Paths.get(directory));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void appendToJournal(SpinJournal journal, SpinEngine engine, SplittableRandomNumberGenerator rng,
+                                        long position, int[] stops, boolean win, long payout) {
+        try {
+            journal.append(System.currentTimeMillis(), engine.getConfigId(), rng != null ? rng.getSeed() : 0,
+                position, stops, stops.length, win, payout);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // С --journal сверяет записанные спины с воспроизведёнными, иначе печатает спины по --seed с --position
+    private static void runReplay(Map<String, String> options) {
+        int columns = intOption(options, "columns", 3);
+        int symbols = intOption(options, "symbols", 8);
+        int rows = rowsForColumns(columns);
+        if (!options.getOrDefault("rng", "splitmix64").equals("splitmix64")) {
+            throw new IllegalArgumentException("replay reproduces splitmix64 spins only, not --rng " + options.get("rng"));
+        }
+        ReelWeights weights = ReelWeights.parse(options.get("weights"), columns, symbols);
+        Paytable paytable = Paytable.forTargetRtp(weights, doubleOption(options, "rtp", 0.95));
+        SpinReplayer replayer = new SpinReplayer(columns, rows, symbols, weights, paytable);
+        boolean quiet = options.containsKey("quiet");
+        PrintStream out = openStdout();
+
+        if (!options.containsKey("journal")) {
+            if (!options.containsKey("seed")) {
+                throw new IllegalArgumentException("replay needs --journal DIR or --seed N");
+            }
+            long seed = longOption(options, "seed", 0);
+            long spins = longOption(options, "spins", 1);
+            StringBuilder line = new StringBuilder(64);
+            for (long i = 0; i < spins; i++) {
+                long position = i == 0 ? longOption(options, "position", 0) : replayer.getPosition();
+                SpinResult result = i == 0 ? replayer.replay(seed, position) : replayer.next();
+                line.setLength(0);
+                line.append(position).append('\t');
+                appendStops(line, result.getStops());
+                line.append('\t').append(result.isWin() ? "WIN" : "LOSE").append("\tx").append(result.getMultiplier());
+                out.println(line);
+            }
+            out.flush();
+            return;
+        }
+
+        long from = longOption(options, "from", 0);
+        long count = longOption(options, "count", Long.MAX_VALUE);
+        long records = 0;
+        long verified = 0;
+        long skipped = 0;
+        long mismatches = 0;
+        long start = System.nanoTime();
+        try (SpinJournalReader reader = SpinJournalReader.open(Paths.get(options.get("journal")))) {
+            reader.seek(from);
+            SpinRecord record;
+            while (records < count && (record = reader.next()) != null) {
+                records++;
+                // Спины другой конфигурации и без позиции генератора воспроизвести нельзя
+                if (record.getConfigId() != replayer.getConfigId() || !record.isReplayable()) {
+                    skipped++;
+                    continue;
+                }
+                verified++;
+                if (!replayer.matches(record)) {
+                    mismatches++;
+                    out.println("MISMATCH\t" + record + "\treplayed=" + replayer.replay(record));
+                } else if (!quiet) {
+                    out.println("OK\t" + record);
+                }
+            }
+        } catch (IOException e) {
+            out.flush();
+            System.err.println("Journal error after " + records + " records: " + e.getMessage());
+            System.exit(1);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        out.printf("# config=%d records=%d verified=%d skipped=%d mismatches=%d time=%.3fs rate=%.0f/s%n",
+            replayer.getConfigId(), records, verified, skipped, mismatches, seconds, records / seconds);
+        out.flush();
+    }
+
+    private static void appendStops(StringBuilder line, int[] stops) {
+        for (int col = 0; col < stops.length; col++) {
+            if (col > 0) {
+                line.append(' ');
+            }
+            line.append(stops[col]);
+        }
+    }
+
+    private static void runRngTest(Map<String, String> options) {
+        String name = options.getOrDefault("rng", options.containsKey("seed") ? "splitmix64" : "default");
+        long draws = longOption(options, "draws", 10_000_000L);
+        RngQualitySuite suite = new RngQualitySuite(
+            intOption(options, "reels", RngQualitySuite.DEFAULT_REELS), doubleOption(options, "alpha", RngQualitySuite.DEFAULT_ALPHA));
+
+        RngQualityReport report;
+        if (name.equals("default")) {
+            report = suite.run(name, DefaultRandomGenerator::new, draws);
+        } else {
+            long seed = options.containsKey("seed") ? longOption(options, "seed", 0) : System.nanoTime();
+            report = suite.run(name + " seed=" + seed, RandomNumberGenerators.createSplittable(name, seed), draws);
+        }
+        System.out.println(report.toReport());
+        if (!report.isPassed()) {
+            System.exit(1);
+        }
+    }
+
+    private static void runServer(Map<String, String> options) {
+        try {
+            GameServer server = new GameServer(intOption(options, "port", GameServer.DEFAULT_PORT),
+                new SplitMix64Generator(longOption(options, "seed", System.nanoTime())),
+                intOption(options, "max-sessions", GameServer.DEFAULT_MAX_SESSIONS),
+                longOption(options, "idle-timeout", GameServer.DEFAULT_IDLE_TIMEOUT_MS / 1000) * 1000);
+            server.start();
+            System.out.println("# listening on http://127.0.0.1:" + server.getPort() + "/sessions"
+                + " virtualThreads=" + GameServer.hasVirtualThreads());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Без --url поднимает сервер в этом же процессе на свободном порту
+    private static void runLoad(Map<String, String> options) {
+        GameServer embedded = null;
+        try {
+            String url = options.get("url");
+            if (url == null) {
+                embedded = new GameServer(0, new SplitMix64Generator(longOption(options, "seed", System.nanoTime())));
+                embedded.start();
+                url = "http://127.0.0.1:" + embedded.getPort();
+            }
+            LoadGenerator generator = new LoadGenerator(URI.create(url));
+            System.out.println(generator.run(
+                intOption(options, "sessions", 1000),
+                longOption(options, "spins", 100),
+                intOption(options, "concurrency", 64),
+                intOption(options, "columns", 3),
+                intOption(options, "symbols", 8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (embedded != null) {
+                embedded.stop();
+            }
+        }
+    }
+
+    private static void runVerify(Map<String, String> options) {
+        int columns = intOption(options, "columns", 3);
+        int symbols = intOption(options, "symbols", 8);
+        long spins = longOption(options, "spins", 100_000_000L);
+        int rows = rowsForColumns(columns);
+
+        MonteCarloVerifier verifier = new MonteCarloVerifier(calculator(options), DefaultRandomGenerator::new, MonteCarloVerifier.DEFAULT_Z);
+        ReelWeights weights = ReelWeights.parse(options.get("weights"), columns, symbols);
+        MonteCarloResult result = options.containsKey("seed")
+            ? verifier.verify(columns, rows, weights, spins, RandomNumberGenerators.createSplittable(
+                options.getOrDefault("rng", "xoshiro256"), longOption(options, "seed", 0)))
+            : verifier.verify(columns, rows, weights, spins);
+        System.out.println(result.toReport());
+    }
+
+    // Все колонки × символы × наборы весов; выводятся конфигурации внутри заданных диапазонов
+    private static void runSweep(Map<String, String> options) {
+        ConfigSweep sweep = new ConfigSweep(doubleOption(options, "rtp", 0.95),
+            longOption(options, "spins", ConfigSweep.DEFAULT_SIMULATION_SPINS));
+        double rtpMin = doubleOption(options, "rtp-min", 0);
+        double rtpMax = doubleOption(options, "rtp-max", Double.MAX_VALUE);
+        double winMin = doubleOption(options, "win-min", 0);
+        double winMax = doubleOption(options, "win-max", 1);
+        int top = intOption(options, "top", Integer.MAX_VALUE);
+
+        long start = System.nanoTime();
+        List<SweepResult> matches = sweep.search(options.get("weights"), rtpMin, rtpMax, winMin, winMax);
+        long elapsed = System.nanoTime() - start;
+
+        PrintStream out = openStdout();
+        out.println("columns\tsymbols\tpreset\twin\trtp\tweights");
+        for (SweepResult result : matches.subList(0, Math.min(top, matches.size()))) {
+            out.printf("%d\t%d\t%s\t%.8f\t%.6f\t%s%s%n", result.getColumns(), result.getSymbolCount(),
+                result.getPreset(), result.getWinProbability(), result.getRtp(), result.getWeights(),
+                result.isAnalytic() ? "" : "\t(simulated)");
+        }
+        out.printf("# matches=%d distinct=%d time=%.3fs%n", matches.size(), sweep.cacheSize(), elapsed / 1e9);
+        out.flush();
+    }
+
+    // С зерном или журналом по умолчанию SplitMix64: только его спины воспроизводит replay
+    static RandomNumberGenerator generator(Map<String, String> options) {
+        boolean replayable = options.containsKey("seed") || options.containsKey("journal");
+        String name = options.getOrDefault("rng", replayable ? "splitmix64" : "default");
+        long seed = options.containsKey("seed") ? longOption(options, "seed", 0) : System.nanoTime();
+        return RandomNumberGenerators.create(name, seed);
+    }
+
+    static int rowsForColumns(int columns) {
+        return ReelLayout.rows(columns);
+    }
+
+    static ProbabilityCalculator calculator(Map<String, String> options) {
+        String name = options.getOrDefault("calculator", "exact");
+        switch (name) {
+            case "exact":
+                return new ExactProbabilityCalculator();
+            case "closed-form":
+                return new DefaultProbabilityCalculator();
+            default:
+                throw new IllegalArgumentException("Unknown calculator: " + name + " (expected exact or closed-form)");
+        }
+    }
+
+    static Map<String, String> parseOptions(String[] args, int from) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = from; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String name = arg.substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(name, args[++i]);
+            } else {
+                options.put(name, "true");
+            }
+        }
+        return options;
+    }
+
+    static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " must be an integer: " + value);
+        }
+    }
+
+    static long longOption(Map<String, String> options, String name, long defaultValue) {
+        String value = options.get(name);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " must be an integer: " + value);
+        }
+    }
+
+    static double doubleOption(Map<String, String> options, String name, double defaultValue) {
+        String value = options.get(name);
+        try {
+            return value == null ? defaultValue : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " must be a number: " + value);
+        }
+    }
+
+    private static PrintStream openStdout() {
+        return new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16),
+            false, StandardCharsets.UTF_8);
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: CasinoCli [spins|verify|replay|rngtest|serve|load|sweep] [--columns N] [--symbols N] [--spins N]"
+            + " [--rng default|splitmix64|xoshiro256] [--seed N] [--calculator exact|closed-form]"
+            + " [--weights 1,1,2[;...]] [--bet N] [--rtp 0.95]"
+            + " [--journal DIR] [--from SEQ] [--count N] [--position N]"
+            + " [--draws N] [--reels N] [--alpha 0.01]"
+            + " [--port N] [--max-sessions N] [--idle-timeout SEC] [--url URL] [--sessions N] [--concurrency N]"
+            + " [--rtp-min X] [--rtp-max X] [--win-min P] [--win-max P] [--top N] [--quiet]");
+        System.exit(2);
+    }
+}
@@ -3,21 +3,28 @@ package dynamic.casino;
 import javafx.animation.*;
 import javafx.application.Platform;
 import javafx.beans.property.*;
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
-import javafx.scene.shape.Rectangle;
 import javafx.util.Duration;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
 import java.util.*;
 
 public class CasinoController {
@@ -40,6 +47,12 @@ public class CasinoController {
     @FXML
     private TextField simulationSpeedField; // Длительность симуляции в секундах
 
+    @FXML
+    private TextField reelWeightsField; // Веса символов по барабанам
+
+    @FXML
+    private TextField betField;
+
     @FXML
     private Button startButton;
 
@@ -49,6 +62,9 @@ public class CasinoController {
     @FXML
     private Button loadImagesButton;
 
+    @FXML
+    private ProgressBar imageLoadProgress;
+
     @FXML
     private VBox gameArea;
 
@@ -61,6 +77,9 @@ public class CasinoController {
     @FXML
     private Label statusLabel;
 
+    @FXML
+    private Label balanceLabel;
+
     private final IntegerProperty columnsProperty = new SimpleIntegerProperty(3);
     private final IntegerProperty rowsProperty = new SimpleIntegerProperty(1);
     private final IntegerProperty symbolCountProperty = new SimpleIntegerProperty(0);
@@ -68,36 +87,127 @@ public class CasinoController {
     private final DoubleProperty spinSpeedProperty = new SimpleDoubleProperty(1.0);   // Интенсивность вращения
     private final DoubleProperty simulationSpeedProperty = new SimpleDoubleProperty(3.0); // Длительность в секундах
     private final BooleanProperty isSpinningProperty = new SimpleBooleanProperty(false);
+    private final IntegerProperty betProperty = new SimpleIntegerProperty(1);
+
+    // Общая таблица стилей; состояния переключаются псевдоклассами без разбора CSS
+    static final String STYLESHEET = CasinoController.class.getResource("/casino.css").toExternalForm();
+    private static final PseudoClass SPINNING = PseudoClass.getPseudoClass("spinning");
+    private static final PseudoClass WIN = PseudoClass.getPseudoClass("win");
+    private static final PseudoClass LOSE = PseudoClass.getPseudoClass("lose");
+
+    private static final long INITIAL_CREDITS = 1000;
+    private static final double TARGET_RTP = 0.95;
 
-    private final AtomicInteger activeAnimations = new AtomicInteger(0);
+    private final CreditAccount account = new CreditAccount(INITIAL_CREDITS);
+    private final ProgressiveJackpot jackpot = ProgressiveJackpot.shared();
 
-    private List<VBox> reels;
-    private List<List<Integer>> reelSymbolIndices; // Храним индексы, а не Image
+    private ReelState reelState; // Храним индексы, а не Image
+    private ReelRenderer reelRenderer;
+    private GridPane reelsContainer;
+    private Label noImagesLabel;
 
-    private RandomNumberGenerator rng = new DefaultRandomGenerator();
+    // Зерно и позиция генератора пишутся в журнал, чтобы любой спин можно было воспроизвести
+    private SplittableRandomNumberGenerator rng = new SplitMix64Generator(new SecureRandom().nextLong());
+    private RandomNumberGenerator fillerRng = new DefaultRandomGenerator(); // Только для промежуточных кадров
 
-    private ProbabilityCalculator probabilityCalculator = new DefaultProbabilityCalculator();
+    private SpinEngine spinEngine;
+    private String reelWeightsSpec = "";
+
+    private ProbabilityCalculator probabilityCalculator = new ExactProbabilityCalculator();
 
     private List<Image> gameImages = new ArrayList<>();
     private List<Image> usedImages = new ArrayList<>();
+    private SymbolAtlas symbolAtlas; // Все gameImages, usedImages — первые ячейки
     private String imagesDirectory = "images";
 
+    private static final double SYMBOL_SIZE = 110;
+
+    private final SymbolImageCache symbolImageCache = new SymbolImageCache(64);
+    private final ExecutorService imageLoader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "image-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ImageLoadTask imageLoadTask;
+
+    private static final String JOURNAL_DIRECTORY = "journal";
+    private static final int JOURNAL_RECORDS_PER_SEGMENT = 1 << 16;
+    private volatile SpinJournal journal;
+
+    private static final Path SETTINGS_FILE = Paths.get(SessionSettings.FILE_NAME);
+    private SessionSettings settings;
+    private GridPane placeholderReels;
+
     private GameState currentState = GameState.IDLE;
+    private boolean gameAreaPending; // Настройки или изображения сменились во время вращения
 
+    // Ничего тяжёлого в потоке FX до первого кадра: журнал открывается и проверяется,
+    // а изображения декодируются в фоновом потоке, пока окно показывает заглушки барабанов.
+    // Журнал ставится в очередь первым, поэтому к моменту, когда появятся изображения
+    // и станет доступен спин, он уже открыт.
     @FXML
     public void initialize() {
-        setupSettingsPanel();
+        settings = SessionSettings.load(SETTINGS_FILE);
         setupBindings();
-        createGameArea();
+        restoreSettings();
+        setupSettingsPanel();
         setupEventHandlers();
+        imageLoader.submit(this::openJournal);
         loadDefaultImages();
-        applyCasinoStyle();
+        createGameArea();
+    }
+
+    private void restoreSettings() {
+        reelWeightsSpec = settings.getReelWeights();
+        if (reelWeightsField != null) {
+            reelWeightsField.setText(reelWeightsSpec);
+        }
+        columnsProperty.set(settings.getColumns());
+        updateRowsBasedOnColumns(settings.getColumns());
+        symbolsToUseProperty.set(settings.getSymbolsToUse());
+        spinSpeedProperty.set(settings.getSpinSpeed());
+        simulationSpeedProperty.set(settings.getSimulationSpeed());
+        betProperty.set(settings.getBet());
+    }
+
+    private void saveSettings() {
+        settings.set(columnsProperty.get(), symbolsToUseProperty.get(), spinSpeedProperty.get(),
+            simulationSpeedProperty.get(), betProperty.get(), reelWeightsSpec);
+        try {
+            settings.save(SETTINGS_FILE);
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить настройки: " + e.getMessage());
+        }
+    }
+
+    private void openJournal() {
+        try {
+            journal = SpinJournal.open(Paths.get(JOURNAL_DIRECTORY), JOURNAL_RECORDS_PER_SEGMENT, 1000);
+        } catch (IOException e) {
+            System.err.println("Журнал спинов недоступен: " + e.getMessage());
+            journal = null;
+        }
+    }
+
+    // Вызывается при закрытии приложения
+    public void shutdown() {
+        imageLoader.shutdownNow();
+        try {
+            // Журнал мог ещё открываться в фоне
+            imageLoader.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        SpinJournal current = journal;
+        if (current != null) {
+            current.close();
+        }
     }
 
     private void setupSettingsPanel() {
         columnsField.setText(String.valueOf(columnsProperty.get()));
         if (symbolsToUseField != null) {
-            symbolsToUseField.setText("0");
+            symbolsToUseField.setText(String.valueOf(symbolsToUseProperty.get()));
         }
         if (spinSpeedField != null) {
             spinSpeedField.setText(String.valueOf(spinSpeedProperty.get()));
@@ -105,6 +215,10 @@ public class CasinoController {
         if (simulationSpeedField != null) {
             simulationSpeedField.setText(String.valueOf(simulationSpeedProperty.get()));
         }
+        if (betField != null) {
+            betField.setText(String.valueOf(betProperty.get()));
+        }
+        updateBalance();
     }
 
     private void setupBindings() {
@@ -124,6 +238,7 @@ public class CasinoController {
                 symbolCountProperty, columnsProperty
             );
             startButton.disableProperty().bind(isSpinningProperty.or(noImagesOrNoColumns));
+            isSpinningProperty.addListener((obs, oldVal, newVal) -> startButton.pseudoClassStateChanged(SPINNING, newVal));
         }
 
         symbolsToUseProperty.addListener((obs, oldVal, newVal) -> updateUsedImages());
@@ -153,103 +268,6 @@ public class CasinoController {
         }
     }
 
-    private void applyCasinoStyle() {
-        if (mainContainer != null) {
-            mainContainer.setStyle("-fx-background-color: linear-gradient(from 0% 0% to 100% 100%, #8B0000, #dc143c);");
-        }
-
-        if (settingsPanel != null) {
-            settingsPanel.setStyle(
-                "-fx-background-color: linear-gradient(from 0% 0% to 100% 100%, #DAA520, #B8860B);" +
-                "-fx-padding: 20;" +
-                "-fx-border-color: #FFD700;" +
-                "-fx-border-width: 3;" +
-                "-fx-border-radius: 10;" +
-                "-fx-background-radius: 10;"
-            );
-        }
-
-        String buttonStyle =
-            "-fx-background-color: linear-gradient(from 0% 0% to 100% 100%, #32CD32, #228B22);" +
-            "-fx-text-fill: white;" +
-            "-fx-font-weight: bold;" +
-            "-fx-font-size: 14px;" +
-            "-fx-border-color: #006400;" +
-            "-fx-border-width: 2;" +
-            "-fx-border-radius: 5;" +
-            "-fx-background-radius: 5;";
-
-        if (applySettingsButton != null) {
-            applySettingsButton.setStyle(buttonStyle);
-        }
-        if (loadImagesButton != null) {
-            loadImagesButton.setStyle(buttonStyle);
-        }
-        if (startButton != null) {
-            startButton.setStyle(
-                "-fx-background-color: linear-gradient(from 0% 0% to 100% 100%, #FF4500, #DC143C);" +
-                "-fx-text-fill: white;" +
-                "-fx-font-weight: bold;" +
-                "-fx-font-size: 16px;" +
-                "-fx-border-color: #8B0000;" +
-                "-fx-border-width: 2;" +
-                "-fx-border-radius: 5;" +
-                "-fx-background-radius: 5;"
-            );
-        }
-
-        String textFieldStyle =
-            "-fx-background-color: white;" +
-            "-fx-border-color: #DAA520;" +
-            "-fx-border-width: 2;" +
-            "-fx-font-weight: bold;" +
-            "-fx-font-size: 14px;";
-
-        if (columnsField != null) {
-            columnsField.setStyle(textFieldStyle);
-        }
-        if (symbolsToUseField != null) {
-            symbolsToUseField.setStyle(textFieldStyle);
-        }
-        if (spinSpeedField != null) {
-            spinSpeedField.setStyle(textFieldStyle);
-        }
-        if (simulationSpeedField != null) {
-            simulationSpeedField.setStyle(textFieldStyle);
-        }
-
-        if (statusLabel != null) {
-            statusLabel.setStyle(
-                "-fx-text-fill: #000080;" +
-                "-fx-font-weight: bold;" +
-                "-fx-font-size: 12px;" +
-                "-fx-background-color: rgba(255, 255, 255, 0.7);" +
-                "-fx-padding: 5;" +
-                "-fx-background-radius: 5;"
-            );
-        }
-
-        if (probabilityLabel != null) {
-            probabilityLabel.setStyle(
-                "-fx-text-fill: #000080;" +
-                "-fx-font-weight: bold;" +
-                "-fx-font-size: 14px;" +
-                "-fx-background-color: rgba(255, 255, 255, 0.7);" +
-                "-fx-padding: 5;" +
-                "-fx-background-radius: 5;"
-            );
-        }
-
-        if (resultLabel != null) {
-            resultLabel.setStyle(
-                "-fx-text-fill: #FFD700;" +
-                "-fx-font-weight: bold;" +
-                "-fx-font-size: 16px;" +
-                "-fx-effect: dropshadow(gaussian, black, 3, 0, 1, 1);"
-            );
-        }
-    }
-
     private void loadDefaultImages() {
         gameImages.clear();
 
@@ -266,7 +284,6 @@ public class CasinoController {
     }
 
     private void loadImagesFromDirectory() {
-        gameImages.clear();
         File imagesDir = new File(imagesDirectory);
 
         if (!imagesDir.exists() || !imagesDir.isDirectory()) {
@@ -288,20 +305,63 @@ public class CasinoController {
             return;
         }
 
-        for (File imageFile : imageFiles) {
-            try {
-                Image image = new Image(imageFile.toURI().toString());
-                if (!image.isError()) {
-                    gameImages.add(image);
-                }
-            } catch (Exception e) {
-                System.err.println("Ошибка загрузки изображения: " + imageFile.getName());
+        if (imageLoadTask != null && imageLoadTask.isRunning()) {
+            imageLoadTask.cancel();
+        }
+
+        // Декодирование уходит в фоновый поток, интерфейс остаётся отзывчивым
+        ImageLoadTask task = new ImageLoadTask(imagesDir, imageFiles, symbolImageCache, SYMBOL_SIZE, SYMBOL_SIZE);
+        imageLoadTask = task;
+
+        task.messageProperty().addListener((obs, oldVal, newVal) -> {
+            if (statusLabel != null && task == imageLoadTask) {
+                statusLabel.setText(newVal);
             }
+        });
+        if (imageLoadProgress != null) {
+            imageLoadProgress.progressProperty().bind(task.progressProperty());
+            imageLoadProgress.setVisible(true);
+            imageLoadProgress.setManaged(true);
+        }
+        if (loadImagesButton != null) {
+            loadImagesButton.setDisable(true);
         }
 
-        removeDuplicateImages();
+        task.setOnSucceeded(e -> {
+            if (task == imageLoadTask) {
+                finishImageLoading();
+                onImagesLoaded(task.getValue(), task.getDuplicateCount(), task.getAtlas());
+            }
+        });
+        task.setOnFailed(e -> {
+            if (task == imageLoadTask) {
+                finishImageLoading();
+                createGameArea();
+                showAlert("Ошибка", "Не удалось загрузить изображения:\n" + task.getException().getMessage());
+            }
+        });
+
+        imageLoader.submit(task);
+    }
+
+    private void finishImageLoading() {
+        if (imageLoadProgress != null) {
+            imageLoadProgress.progressProperty().unbind();
+            imageLoadProgress.setVisible(false);
+            imageLoadProgress.setManaged(false);
+        }
+        if (loadImagesButton != null) {
+            loadImagesButton.setDisable(false);
+        }
+    }
+
+    private void onImagesLoaded(List<Image> images, int duplicateCount, SymbolAtlas atlas) {
+        // Дубликаты по содержимому уже отброшены задачей загрузки
+        gameImages = new ArrayList<>(images);
+        symbolAtlas = atlas;
 
         if (gameImages.isEmpty()) {
+            createGameArea();
             showAlert("Ошибка", "Не удалось загрузить ни одного изображения");
             if (statusLabel != null) {
                 statusLabel.setText("Ошибка загрузки изображений");
@@ -310,7 +370,8 @@ public class CasinoController {
             symbolCountProperty.set(gameImages.size());
             updateUsedImages();
             if (statusLabel != null) {
-                statusLabel.setText("Загружено изображений: " + gameImages.size());
+                statusLabel.setText("Загружено изображений: " + gameImages.size()
+                    + (duplicateCount > 0 ? " (дубликатов пропущено: " + duplicateCount + ")" : ""));
             }
             createGameArea();
         }
@@ -333,6 +394,7 @@ public class CasinoController {
             int symbolsToUse = 0;
             double spinSpeed = 1.0;
             double simulationSpeed = 3.0;
+            int bet = betProperty.get();
 
             if (symbolsToUseField != null && !symbolsToUseField.getText().isEmpty()) {
                 symbolsToUse = Integer.parseInt(symbolsToUseField.getText());
@@ -358,12 +420,35 @@ public class CasinoController {
                 }
             }
 
+            if (betField != null && !betField.getText().isEmpty()) {
+                bet = Integer.parseInt(betField.getText());
+                if (bet < 1 || bet > 1000) {
+                    showAlert("Ошибка", "Ставка должна быть от 1 до 1000 кредитов");
+                    return;
+                }
+            }
+
+            String weightsSpec = reelWeightsField != null ? reelWeightsField.getText().trim() : "";
+            if (!weightsSpec.isEmpty() && !gameImages.isEmpty() && newColumns > 0) {
+                int symbols = symbolsToUse <= 0 ? gameImages.size() : Math.min(symbolsToUse, gameImages.size());
+                try {
+                    ReelWeights.parse(weightsSpec, newColumns, symbols);
+                } catch (IllegalArgumentException e) {
+                    showAlert("Ошибка", "Веса символов: " + e.getMessage());
+                    return;
+                }
+            }
+
             if (newColumns > 0 && newColumns <= 10) {
+                reelWeightsSpec = weightsSpec;
                 columnsProperty.set(newColumns);
                 symbolsToUseProperty.set(symbolsToUse);
                 spinSpeedProperty.set(spinSpeed);
                 simulationSpeedProperty.set(simulationSpeed);
+                betProperty.set(bet);
+                updateBalance();
                 createGameArea();
+                saveSettings();
             } else {
                 showAlert("Ошибка", "Количество колонок должно быть от 1 до 10");
             }
@@ -373,115 +458,112 @@ public class CasinoController {
     }
 
     private void updateRowsBasedOnColumns(int columns) {
-        int rows = (columns <= 5) ? 1 : 2;
-        rowsProperty.set(rows);
+        rowsProperty.set(ReelLayout.rows(columns));
     }
 
+    // Сцена не пересобирается: контейнер барабанов и сами барабаны переиспользуются,
+    // меняются только добавленные/убранные колонки и текстуры
     private void createGameArea() {
-        if (currentState == GameState.SPINNING) {
+        // Барабаны нельзя менять, пока они вращаются или доезжают до результата;
+        // сцена обновится, когда встанет последний
+        if (isBusy()) {
+            gameAreaPending = true;
             return;
         }
-
-        if (gameArea != null) {
-            gameArea.getChildren().clear();
-        }
-        reels = new ArrayList<>();
-        reelSymbolIndices = new ArrayList<>(); // Инициализируем новое поле
+        gameAreaPending = false;
 
         if (usedImages.isEmpty()) {
-            if (gameArea != null) {
-                Label noImagesLabel = new Label("Нет изображений для отображения.\nПоместите изображения в папку 'images' и нажмите 'Загрузить изображения'");
-                noImagesLabel.setAlignment(Pos.CENTER);
-                noImagesLabel.setStyle(
-                    "-fx-text-alignment: center;" +
-                    "-fx-text-fill: white;" +
-                    "-fx-font-size: 16px;" +
-                    "-fx-font-weight: bold;" +
-                    "-fx-background-color: rgba(0, 0, 0, 0.7);" +
-                    "-fx-padding: 20;" +
-                    "-fx-background-radius: 10;"
-                );
-                gameArea.getChildren().add(noImagesLabel);
+            if (gameArea != null && imageLoadTask != null && !imageLoadTask.isDone()) {
+                showInGameArea(placeholderReels());
+            } else if (gameArea != null) {
+                if (noImagesLabel == null) {
+                    noImagesLabel = new Label("Нет изображений для отображения.\nПоместите изображения в папку 'images' и нажмите 'Загрузить изображения'");
+                    noImagesLabel.setAlignment(Pos.CENTER);
+                    noImagesLabel.getStyleClass().add("no-images-label");
+                }
+                showInGameArea(noImagesLabel);
             }
             return;
         }
 
         if (gameArea != null) {
-            GridPane reelsContainer = new GridPane();
-            reelsContainer.setAlignment(Pos.CENTER);
-            reelsContainer.setHgap(15);
-            reelsContainer.setVgap(15);
-            reelsContainer.setPadding(new Insets(30));
-            reelsContainer.setStyle(
-                "-fx-background-color: linear-gradient(from 0% 0% to 100% 100%, #006400, #008000);" +
-                "-fx-border-color: #FFD700;" +
-                "-fx-border-width: 5;" +
-                "-fx-border-radius: 15;" +
-                "-fx-background-radius: 15;" +
-                "-fx-effect: dropshadow(gaussian, black, 10, 0, 3, 3);"
-            );
-
             int totalColumns = columnsProperty.get();
-            int topRowColumns, bottomRowColumns;
-
-            if (totalColumns <= 5) {
-                topRowColumns = totalColumns;
-                bottomRowColumns = 0;
-            } else {
-                topRowColumns = (int) Math.ceil(totalColumns / 2.0);
-                bottomRowColumns = totalColumns - topRowColumns;
+            if (reelRenderer == null) {
+                reelsContainer = new GridPane();
+                reelsContainer.setAlignment(Pos.CENTER);
+                reelsContainer.setHgap(15);
+                reelsContainer.setVgap(15);
+                reelsContainer.setPadding(new Insets(30));
+                reelsContainer.getStyleClass().add("reels-container");
+                reelState = new ReelState(0, 3);
+                reelRenderer = new ReelRenderer(reelState, symbolAtlas(), usedImages.size(), fillerRng, SYMBOL_SIZE);
+            } else if (reelRenderer.getAtlas() != symbolAtlas() || reelRenderer.getSymbolCount() != usedImages.size()) {
+                reelRenderer.setSymbols(symbolAtlas(), usedImages.size());
             }
 
-            int columnIndex = 0;
-            for (int col = 0; col < topRowColumns; col++) {
-                VBox column = createColumn(columnIndex);
-                reelsContainer.add(column, col, 0);
-                columnIndex++;
+            int before = reelRenderer.getColumns();
+            for (int col = totalColumns; col < before; col++) {
+                reelsContainer.getChildren().remove(reelRenderer.getReel(col));
+            }
+            reelRenderer.setColumns(totalColumns);
+            for (int col = before; col < totalColumns; col++) {
+                reelsContainer.getChildren().add(reelRenderer.getReel(col));
             }
 
-            if (bottomRowColumns > 0) {
-                for (int col = 0; col < bottomRowColumns; col++) {
-                    VBox column = createColumn(columnIndex);
-                    reelsContainer.add(column, col, 1);
-                    columnIndex++;
+            // При переходе через 5 колонок барабаны меняют только ячейку сетки
+            int topRowColumns = ReelLayout.topRowColumns(totalColumns);
+            for (int col = 0; col < totalColumns; col++) {
+                Pane reel = reelRenderer.getReel(col);
+                int x = col < topRowColumns ? col : col - topRowColumns;
+                int y = col < topRowColumns ? 0 : 1;
+                if (!Objects.equals(GridPane.getColumnIndex(reel), x) || !Objects.equals(GridPane.getRowIndex(reel), y)) {
+                    GridPane.setConstraints(reel, x, y);
                 }
             }
 
-            gameArea.getChildren().add(reelsContainer);
+            showInGameArea(reelsContainer);
         }
         updateProbability();
     }
 
-    private VBox createColumn(int colIndex) {
-        VBox column = new VBox();
-        column.setAlignment(Pos.CENTER);
-
-        Pane slotCell = new Pane();
-        slotCell.setPrefSize(110, 110);
-
-        Rectangle clip = new Rectangle(110, 110);
-        slotCell.setClip(clip);
-        VBox reelBox = new VBox();
-        reelBox.setSpacing(0);
-
-        List<Integer> columnIndices = new ArrayList<>();
-        for (int i = 0; i < 3; i++) {
-            int randomIndex = rng.nextInt(usedImages.size());
-            Image randomImage = usedImages.get(randomIndex);
-            ImageView img = new ImageView(randomImage);
-            img.setFitWidth(110);
-            img.setFitHeight(110);
-            img.setPreserveRatio(false);
-            reelBox.getChildren().add(img);
-            columnIndices.add(randomIndex);
+    // Пустые ячейки на месте барабанов, пока изображения загружаются: окно сразу
+    // показывает раскладку из сохранённых настроек, а не пустой экран
+    private GridPane placeholderReels() {
+        int columns = columnsProperty.get();
+        if (placeholderReels == null) {
+            placeholderReels = new GridPane();
+            placeholderReels.setAlignment(Pos.CENTER);
+            placeholderReels.setHgap(15);
+            placeholderReels.setVgap(15);
+            placeholderReels.setPadding(new Insets(30));
+            placeholderReels.getStyleClass().add("reels-container");
+        }
+        if (placeholderReels.getChildren().size() != columns) {
+            placeholderReels.getChildren().clear();
+            int topRowColumns = ReelLayout.topRowColumns(columns);
+            for (int col = 0; col < columns; col++) {
+                Region cell = new Region();
+                cell.setMinSize(SYMBOL_SIZE, SYMBOL_SIZE);
+                cell.setPrefSize(SYMBOL_SIZE, SYMBOL_SIZE);
+                cell.getStyleClass().add("reel-placeholder");
+                placeholderReels.add(cell, col < topRowColumns ? col : col - topRowColumns, col < topRowColumns ? 0 : 1);
+            }
         }
+        return placeholderReels;
+    }
 
-        slotCell.getChildren().add(reelBox);
-        column.getChildren().add(slotCell);
-        reels.add(reelBox);
-        reelSymbolIndices.add(columnIndices);
+    // Атлас от задачи загрузки; собирается заново, только если набор изображений разошёлся с ним
+    private SymbolAtlas symbolAtlas() {
+        if (symbolAtlas == null || !symbolAtlas.covers(usedImages)) {
+            symbolAtlas = SymbolAtlas.build(usedImages, (int) SYMBOL_SIZE);
+        }
+        return symbolAtlas;
+    }
 
-        return column;
+    private void showInGameArea(Node node) {
+        if (gameArea.getChildren().size() != 1 || gameArea.getChildren().get(0) != node) {
+            gameArea.getChildren().setAll(node);
+        }
     }
 
     private void executeCommand(Command command) {
@@ -498,30 +580,108 @@ public class CasinoController {
 
         @Override
         public boolean canExecute(GameState currentState) {
-            return currentState == GameState.IDLE && !usedImages.isEmpty();
+            return currentState == GameState.IDLE && !isBusy() && !usedImages.isEmpty();
         }
     }
 
 
-    private void startSpin() {
-        if (currentState != GameState.IDLE || usedImages.isEmpty()) return;
+    // Для автоматических клиентов: запускает вращение и завершается, когда результат показан.
+    // Можно вызывать из любого потока.
+    public CompletableFuture<SpinResult> spin() {
+        return onFxThread(this::startSpin);
+    }
+
+    // Для аудита: показывает записанный в журнале спин заново, без ставки и без записи в журнал.
+    // Исход восстанавливается из зерна и позиции генератора при текущих настройках.
+    public CompletableFuture<SpinResult> replaySpin(SpinRecord record) {
+        return onFxThread(() -> startReplay(record));
+    }
 
+    private CompletableFuture<SpinResult> onFxThread(Supplier<CompletableFuture<SpinResult>> action) {
+        if (Platform.isFxApplicationThread()) {
+            return action.get();
+        }
+        CompletableFuture<SpinResult> result = new CompletableFuture<>();
+        Platform.runLater(() -> action.get().whenComplete((r, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(r);
+            }
+        }));
+        return result;
+    }
+
+    // Спин идёт, пока не встал последний барабан, а не до команды остановки
+    private boolean isBusy() {
+        return currentState != GameState.IDLE || isSpinningProperty.get()
+            || (reelRenderer != null && reelRenderer.isSpinning());
+    }
+
+    private CompletableFuture<SpinResult> startSpin() {
+        if (isBusy() || usedImages.isEmpty() || reelRenderer == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Вращение уже идёт или нет изображений"));
+        }
+        long bet = betProperty.get();
+        if (!account.canBet(bet)) {
+            IllegalStateException error = new IllegalStateException(
+                "Недостаточно кредитов: баланс " + account.getBalance() + ", ставка " + bet);
+            showAlert("Ошибка", error.getMessage());
+            return CompletableFuture.failedFuture(error);
+        }
+        account.placeBet(bet);
+        updateBalance();
+
+        // Исход решает движок, анимация лишь приводит барабаны к нему
+        long spinStart = Metrics.ENABLED ? System.nanoTime() : 0;
+        SpinEngine engine = getSpinEngine();
+        long rngPosition = rng.getPosition();
+        SpinResult result = engine.spin();
+        long draws = rng.getPosition() - rngPosition;
+        long linePayout = bet * result.getMultiplier();
+        // В журнал идёт выплата по линии: она воспроизводится из зерна, джекпот — нет
+        recordSpin(engine, rngPosition, result, linePayout);
+        long jackpotWon = 0;
+        if (engine.getPaytable().hasJackpot()) {
+            jackpot.contribute(bet);
+            if (engine.getPaytable().isJackpotLine(result)) {
+                jackpotWon = jackpot.payout();
+            }
+        }
+        long payout = linePayout + jackpotWon;
+        return animateSpin(result, payout, () -> {
+            account.settle(payout);
+            if (Metrics.ENABLED) {
+                Metrics.spinCompleted(System.nanoTime() - spinStart, draws);
+            }
+        });
+    }
+
+    private CompletableFuture<SpinResult> startReplay(SpinRecord record) {
+        if (isBusy() || usedImages.isEmpty() || reelRenderer == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Вращение уже идёт или нет изображений"));
+        }
+        SpinResult result;
+        try {
+            result = SpinReplayer.forEngine(getSpinEngine()).replay(record);
+        } catch (IllegalArgumentException e) {
+            showAlert("Ошибка", "Спин #" + record.getSequence() + " нельзя воспроизвести при текущих настройках:\n" + e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+        if (statusLabel != null) {
+            statusLabel.setText("Повтор спина #" + record.getSequence());
+        }
+        return animateSpin(result, record.getPayout(), () -> { });
+    }
+
+    // Анимирует барабаны к готовому исходу; onSettled выполняется, когда встал последний барабан
+    private CompletableFuture<SpinResult> animateSpin(SpinResult result, long payout, Runnable onSettled) {
         currentState = GameState.SPINNING;
         isSpinningProperty.set(true);
         if (resultLabel != null) {
             resultLabel.setText("");
-        }
-        if (startButton != null) {
-            startButton.setStyle(
-                "-fx-background-color: linear-gradient(from 0% 0% to 100% 100%, #808080, #696969);" +
-                "-fx-text-fill: white;" +
-                "-fx-font-weight: bold;" +
-                "-fx-font-size: 16px;" +
-                "-fx-border-color: #2F4F4F;" +
-                "-fx-border-width: 2;" +
-                "-fx-border-radius: 5;" +
-                "-fx-background-radius: 5;"
-            );
+            resultLabel.pseudoClassStateChanged(WIN, false);
+            resultLabel.pseudoClassStateChanged(LOSE, false);
         }
 
         double totalSimulationSeconds = simulationSpeedProperty.get();
@@ -530,197 +690,128 @@ public class CasinoController {
         long totalSimulationMs = (long) (totalSimulationSeconds * 1000);
         long stepDurationMs = (long) (200 / spinIntensity);
 
-        // Сбрасываем счётчик активных анимаций
-        activeAnimations.set(0);
-
-        // Запускаем все барабаны одновременно
-        for (int col = 0; col < columnsProperty.get(); col++) {
-            int finalCol = col;
+        // Запускаем все барабаны одновременно, каждый со своей задержкой
+        int columns = Math.min(columnsProperty.get(), reelState.getColumns());
+        CompletableFuture<?>[] reelsSettled = new CompletableFuture<?>[columns];
+        for (int col = 0; col < columns; col++) {
             long delayMs = (long) (col * (totalSimulationMs / (double) columnsProperty.get() / 4.0));
-PauseTransition delay = new PauseTransition(Duration.millis(delayMs));
-            delay.setOnFinished(e -> spinColumn(finalCol, stepDurationMs, totalSimulationMs));
-            delay.play();
+            reelsSettled[col] = reelRenderer.start(col, stepDurationMs, delayMs);
         }
 
+        // Результат показываем в том же кадре, в котором встал последний барабан
+        long[] stopRequestedAt = new long[1];
+        CompletableFuture<SpinResult> spinCompleted = new CompletableFuture<>();
+        CompletableFuture.allOf(reelsSettled).thenRun(() -> {
+            if (Metrics.ENABLED && stopRequestedAt[0] != 0) {
+                Metrics.resultShown(System.nanoTime() - stopRequestedAt[0]);
+            }
+            try {
+                onSettled.run();
+                showFinalResult(payout);
+            } finally {
+                currentState = GameState.IDLE;
+            }
+            spinCompleted.complete(result);
+            if (gameAreaPending) {
+                createGameArea();
+            }
+        });
+
         // Планируем остановку и проверку результата
         Timeline stopTimeline = new Timeline(new KeyFrame(
             Duration.millis(totalSimulationMs),
             e -> {
-                // Останавливаем логику — новые анимации не запускаются
-                currentState = GameState.IDLE;
-
-                // Начинаем асинхронное ожидание завершения активных анимаций
-                waitForAnimationsToFinish();
+                // Останавливаем логику — барабаны доезжают до результата движка
+                if (Metrics.ENABLED) {
+                    stopRequestedAt[0] = System.nanoTime();
+                }
+                currentState = GameState.STOPPING;
+                for (int col = 0; col < columns; col++) {
+                    reelRenderer.requestStop(col, result.getStop(col));
+                }
             }
         ));
         stopTimeline.play();
-    }
-
-    private void waitForAnimationsToFinish() {
-        if (activeAnimations.get() == 0) {
-            Platform.runLater(this::showFinalResult);
-        } else {
-            PauseTransition wait = new PauseTransition(Duration.millis(20));
-            wait.setOnFinished(e -> waitForAnimationsToFinish());
-            wait.play();
-        }
+        return spinCompleted;
     }
 
     // Показываем результат, когда всё готово
-    private void showFinalResult() {
+    private void showFinalResult(long payout) {
         try {
-            checkWin();
+            checkWin(payout);
+            updateBalance();
         } catch (Exception ex) {
             ex.printStackTrace();
             showAlert("Ошибка", "Во время подсчёта результата произошла ошибка:\n" + ex.getMessage());
         } finally {
             isSpinningProperty.set(false);
-
-            if (startButton != null) {
-                startButton.setStyle(
-                    "-fx-background-color: linear-gradient(from 0% 0% to 100% 100%, #FF4500, #DC143C);" +
-                    "-fx-text-fill: white;" +
-                    "-fx-font-weight: bold;" +
-                    "-fx-font-size: 16px;" +
-                    "-fx-border-color: #8B0000;" +
-                    "-fx-border-width: 2;" +
-                    "-fx-border-radius: 5;" +
-                    "-fx-background-radius: 5;"
-                );
-            }
         }
     }
 
-    private void spinColumn(int col, long stepDurationMs, long totalSimulationMs) {
-        if (col >= reels.size() || col >= reelSymbolIndices.size()) return;
-
-        activeAnimations.incrementAndGet();
-
-        VBox reelBox = reels.get(col);
-        List<Integer> columnIndices = reelSymbolIndices.get(col);
-
-        TranslateTransition spin = new TranslateTransition(Duration.millis(stepDurationMs), reelBox);
-        spin.setFromY(0);
-        spin.setToY(-110);
-        spin.setInterpolator(Interpolator.LINEAR);
-
-        spin.setOnFinished(e -> {
-            try {
-                Node first = reelBox.getChildren().remove(0);
-
-                if (first instanceof ImageView) {
-                    int newIndex = rng.nextInt(usedImages.size());
-                    Image newImage = usedImages.get(newIndex);
-                    ((ImageView) first).setImage(newImage);
-
-                    if (col < reelSymbolIndices.size()) {
-                        List<Integer> indices = reelSymbolIndices.get(col);
-                        if (!indices.isEmpty()) {
-                            indices.remove(0);
-                            indices.add(newIndex);
-                        }
-                    }
-                }
-
-                reelBox.getChildren().add(first);
-                reelBox.setTranslateY(0);
-            } finally {
-                activeAnimations.decrementAndGet();
-            }
-
-            // Продолжаем только если игра ещё идёт
-            if (currentState == GameState.SPINNING) {
-                spinColumn(col, stepDurationMs, totalSimulationMs);
-            } else {
-            }
-        });
-
-        spin.play();
+    private SpinEngine getSpinEngine() {
+        int columns = columnsProperty.get();
+        int rows = rowsProperty.get();
+        int symbols = usedImages.size();
+        ReelWeights weights = currentReelWeights();
+        ReelWeights engineWeights = weights.isUniform() ? null : weights;
+        if (spinEngine == null || spinEngine.getColumns() != columns
+                || spinEngine.getRows() != rows || spinEngine.getSymbolCount() != symbols
+                || !Objects.equals(spinEngine.getWeights(), engineWeights)) {
+            // Если джекпот разыгрывается, он возвращает свою долю ставки сам, линии добирают остальное
+            Paytable paytable = Paytable.forTargetRtp(weights, TARGET_RTP, jackpot);
+            spinEngine = new SpinEngine(columns, rows, symbols, rng, engineWeights, paytable);
+        }
+        return spinEngine;
     }
 
+    // Веса пересчитываются под текущее число колонок и символов; настройки проверены в applySettings
+    private ReelWeights currentReelWeights() {
+        int columns = columnsProperty.get();
+        int symbols = usedImages.size();
+        try {
+            return ReelWeights.parse(reelWeightsSpec, columns, symbols);
+        } catch (IllegalArgumentException e) {
+            return ReelWeights.uniform(columns, symbols);
+        }
+    }
 
-    private void checkWin() {
-        if (columnsProperty.get() == 0 || usedImages.isEmpty() || reelSymbolIndices == null) {
+    private void checkWin(long payout) {
+        if (columnsProperty.get() == 0 || usedImages.isEmpty() || reelState == null) {
             return;
         }
 
-        boolean isWin = false;
-
-        // Собираем реальные индексы верхних символов
-        List<Integer> topIndices = new ArrayList<>();
-        for (int col = 0; col < columnsProperty.get() && col < reelSymbolIndices.size(); col++) {
-            List<Integer> colIndices = reelSymbolIndices.get(col);
-            if (colIndices != null && !colIndices.isEmpty()) {
-                int topIndex = colIndices.get(0); // первый в списке = верхний символ
-                topIndices.add(topIndex);
-
-                // Выводим URL изображения для проверки
-                if (topIndex < usedImages.size()) {
-                    String imgUrl = usedImages.get(topIndex).getUrl();
-                } else {
-                }
-            } else {
-            }
-        }
-
-        // Для 2 колонок: выигрыш, если индексы совпадают
-        if (columnsProperty.get() == 2 && topIndices.size() == 2) {
-            isWin = (topIndices.get(0).equals(topIndices.get(1)));
-        }
-        // Для 3+ колонок: все должны совпадать
-        else if (topIndices.size() >= 2) {
-            Integer first = topIndices.get(0);
-            isWin = true;
-            for (int i = 1; i < topIndices.size(); i++) {
-                if (!topIndices.get(i).equals(first)) {
-                    isWin = false;
-                    break;
-                }
-            }
-        }
+        // Проверяем реальные верхние символы без промежуточных списков
+        boolean isWin = reelState.isTopRowWin();
 
         // Отображаем результат
         if (resultLabel != null) {
-            if (isWin) {
-                resultLabel.setText("🎰 Выигрыш! 🎰");
-                resultLabel.setStyle(
-                    "-fx-text-fill: #FFD700;" +
-                    "-fx-font-size: 22px;" +
-                    "-fx-font-weight: bold;" +
-                    "-fx-effect: dropshadow(gaussian, black, 3, 0, 1, 1);" +
-                    "-fx-background-color: rgba(0, 100, 0, 0.7);" +
-                    "-fx-padding: 10;" +
-                    "-fx-background-radius: 10;"
-                );
-            } else {
-                resultLabel.setText("Попробуйте ещё раз!");
-                resultLabel.setStyle(
-                    "-fx-text-fill: #FF6347;" +
-                    "-fx-font-size: 18px;" +
-                    "-fx-font-weight: bold;" +
-                    "-fx-effect: dropshadow(gaussian, black, 3, 0, 1, 1);" +
-                    "-fx-background-color: rgba(139, 0, 0, 0.7);" +
-                    "-fx-padding: 10;" +
-                    "-fx-background-radius: 10;"
-                );
-            }
+            resultLabel.setText(isWin
+                ? (payout > 0 ? "🎰 Выигрыш! +" + payout + " 🎰" : "🎰 Выигрыш! 🎰")
+                : "Попробуйте ещё раз!");
+            resultLabel.pseudoClassStateChanged(WIN, isWin);
+            resultLabel.pseudoClassStateChanged(LOSE, !isWin);
         }
     }
 
-    private void removeDuplicateImages() {
-        List<Image> uniqueImages = new ArrayList<>();
-        Set<String> seenUrls = new HashSet<>();
-
-        for (Image img : gameImages) {
-            String url = img.getUrl();
-            if (!seenUrls.contains(url)) {
-                seenUrls.add(url);
-                uniqueImages.add(img);
-            } else {
-            }
+    // Спин попадает в журнал до анимации: показанный исход всегда уже записан
+    private void recordSpin(SpinEngine engine, long rngPosition, SpinResult result, long payout) {
+        SpinJournal journal = this.journal;
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.append(System.currentTimeMillis(), engine.getConfigId(), rng.getSeed(), rngPosition,
+                result.getStops(), result.getColumns(), result.isWin(), payout);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Не удалось записать спин в журнал: " + e.getMessage());
         }
+    }
 
-        gameImages = uniqueImages;
+    private void updateBalance() {
+        if (balanceLabel != null) {
+            balanceLabel.setText(String.format("💰 Баланс: %d | Ставка: %d | RTP: %.2f%%%n🏆 Джекпот: %d",
+                account.getBalance(), betProperty.get(), account.getRtp() * 100, jackpot.getPool()));
+        }
     }
 
     private void updateProbability() {
@@ -731,10 +822,10 @@ PauseTransition delay = new PauseTransition(Duration.millis(delayMs));
             return;
         }
 
-        double probability = probabilityCalculator.calculateWinProbability(
+        double probability = columnsProperty.get() <= 0 ? 0 : probabilityCalculator.calculateWinProbability(
             columnsProperty.get(),
             rowsProperty.get(),
-            symbolCountProperty.get()
+            currentReelWeights()
         );
         if (probabilityLabel != null) {
             probabilityLabel.setText(String.format("🎲 Вероятность выигрыша: %.4f%% 🎲", probability * 100));
@@ -747,12 +838,8 @@ PauseTransition delay = new PauseTransition(Duration.millis(delayMs));
         alert.setHeaderText(null);
         alert.setContentText(message);
         DialogPane dialogPane = alert.getDialogPane();
-        dialogPane.setStyle(
-            "-fx-background-color: linear-gradient(from 0% 0% to 100% 100%, #DAA520, #B8860B);" +
-            "-fx-border-color: #FFD700;" +
-            "-fx-border-width: 2;" +
-            "-fx-border-radius: 5;"
-        );
+        dialogPane.getStylesheets().add(STYLESHEET);
+        dialogPane.getStyleClass().add("casino-dialog");
 
         alert.showAndWait();
     }
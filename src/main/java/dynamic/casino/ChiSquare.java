@@ -0,0 +1,175 @@
+package dynamic.casino;
+
+// Критерий хи-квадрат и его p-значение через регуляризованную неполную гамма-функцию
+public final class ChiSquare {
+    private static final double MIN_EXPECTED = 5;
+    private static final double EPSILON = 1e-15;
+    private static final int MAX_ITERATIONS = 10_000;
+
+    private final double statistic;
+    private final int degreesOfFreedom;
+    private final double pValue;
+
+    private ChiSquare(double statistic, int degreesOfFreedom, double pValue) {
+        this.statistic = statistic;
+        this.degreesOfFreedom = degreesOfFreedom;
+        this.pValue = pValue;
+    }
+
+    // Соседние ячейки с ожиданием меньше 5 сливаются, иначе приближение хи-квадрат неверно;
+    // остаток в конце присоединяется к последней группе.
+    // Наблюдение в ячейке с нулевой вероятностью сразу даёт p = 0.
+    public static ChiSquare test(long[] observed, double[] probabilities) {
+        if (observed.length != probabilities.length) {
+            throw new IllegalArgumentException("observed and probabilities differ in length");
+        }
+        long total = 0;
+        for (long count : observed) {
+            total += count;
+        }
+        if (total == 0) {
+            return new ChiSquare(0, 0, 1);
+        }
+
+        long[] groupObserved = new long[observed.length];
+        double[] groupExpected = new double[observed.length];
+        int groups = 0;
+        long pendingObserved = 0;
+        double pendingExpected = 0;
+        for (int i = 0; i < observed.length; i++) {
+            double expected = probabilities[i] * total;
+            if (expected == 0) {
+                if (observed[i] > 0) {
+                    return new ChiSquare(Double.POSITIVE_INFINITY, 0, 0);
+                }
+                continue;
+            }
+            pendingObserved += observed[i];
+            pendingExpected += expected;
+            if (pendingExpected >= MIN_EXPECTED) {
+                groupObserved[groups] = pendingObserved;
+                groupExpected[groups] = pendingExpected;
+                groups++;
+                pendingObserved = 0;
+                pendingExpected = 0;
+            }
+        }
+        if (pendingExpected > 0) {
+            if (groups == 0) {
+                groups = 1;
+            }
+            groupObserved[groups - 1] += pendingObserved;
+            groupExpected[groups - 1] += pendingExpected;
+        }
+
+        double statistic = 0;
+        for (int i = 0; i < groups; i++) {
+            double diff = groupObserved[i] - groupExpected[i];
+            statistic += diff * diff / groupExpected[i];
+        }
+        int df = groups - 1;
+        return new ChiSquare(statistic, df, df == 0 ? 1 : pValue(statistic, df));
+    }
+
+    // Готовая статистика, например сумма независимых тестов
+    public static ChiSquare of(double statistic, int degreesOfFreedom) {
+        if (degreesOfFreedom == 0 || Double.isInfinite(statistic)) {
+            return new ChiSquare(statistic, degreesOfFreedom, statistic == 0 ? 1 : 0);
+        }
+        return new ChiSquare(statistic, degreesOfFreedom, pValue(statistic, degreesOfFreedom));
+    }
+
+    public static double pValue(double statistic, int degreesOfFreedom) {
+        if (degreesOfFreedom <= 0) {
+            throw new IllegalArgumentException("degreesOfFreedom must be positive: " + degreesOfFreedom);
+        }
+        if (statistic <= 0) {
+            return 1;
+        }
+        if (Double.isInfinite(statistic)) {
+            return 0;
+        }
+        return regularizedGammaQ(degreesOfFreedom / 2.0, statistic / 2.0);
+    }
+
+    public double getStatistic() {
+        return statistic;
+    }
+
+    public int getDegreesOfFreedom() {
+        return degreesOfFreedom;
+    }
+
+    public double getPValue() {
+        return pValue;
+    }
+
+    // Q(a, x) = Γ(a, x) / Γ(a): ряд при x < a + 1, иначе цепная дробь (Numerical Recipes, 6.2)
+    static double regularizedGammaQ(double a, double x) {
+        if (x < a + 1) {
+            return 1 - gammaSeries(a, x);
+        }
+        return gammaContinuedFraction(a, x);
+    }
+
+    private static double gammaSeries(double a, double x) {
+        double ap = a;
+        double sum = 1 / a;
+        double delta = sum;
+        for (int n = 0; n < MAX_ITERATIONS; n++) {
+            ap++;
+            delta *= x / ap;
+            sum += delta;
+            if (Math.abs(delta) < Math.abs(sum) * EPSILON) {
+                break;
+            }
+        }
+        return sum * Math.exp(-x + a * Math.log(x) - logGamma(a));
+    }
+
+    private static double gammaContinuedFraction(double a, double x) {
+        double tiny = 1e-300;
+        double b = x + 1 - a;
+        double c = 1 / tiny;
+        double d = 1 / b;
+        double h = d;
+        for (int i = 1; i < MAX_ITERATIONS; i++) {
+            double an = -i * (i - a);
+            b += 2;
+            d = an * d + b;
+            if (Math.abs(d) < tiny) {
+                d = tiny;
+            }
+            c = b + an / c;
+            if (Math.abs(c) < tiny) {
+                c = tiny;
+            }
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < EPSILON) {
+                break;
+            }
+        }
+        return Math.exp(-x + a * Math.log(x) - logGamma(a)) * h;
+    }
+
+    // Приближение Ланцоша (g = 7, 9 коэффициентов), точность около 1e-15
+    static double logGamma(double x) {
+        double[] coefficients = {
+            0.99999999999980993, 676.5203681218851, -1259.1392167224028,
+            771.32342877765313, -176.61502916214059, 12.507343278686905,
+            -0.13857109526572012, 9.9843695780195716e-6, 1.5056327351493116e-7
+        };
+        if (x < 0.5) {
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        }
+        x -= 1;
+        double sum = coefficients[0];
+        for (int i = 1; i < coefficients.length; i++) {
+            sum += coefficients[i] / (x + i);
+        }
+        double t = x + 7.5;
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+}
@@ -0,0 +1,165 @@
+package dynamic.casino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Перебор всех конфигураций колонки × символы × наборы весов параллельно на всех ядрах.
+// Каждая считается точно через ProbabilityEngine; если модель ему не по силам (слишком
+// много линий), показатели оцениваются симуляцией с фиксированным зерном.
+// Результаты кэшируются по весам барабанов, сведённым к вероятностям, — они однозначно
+// задают конфигурацию (число колонок и символов входит в хэш), поэтому совпадающие наборы
+// (например, все наборы при одном символе) и повторные поиски по другим диапазонам
+// не пересчитываются.
+public class ConfigSweep {
+    public static final int MAX_COLUMNS = 10;
+    public static final int MAX_SYMBOLS = 8;
+    public static final List<String> PRESETS = List.of("uniform", "descending", "heavy-first", "light-last");
+    public static final long DEFAULT_SIMULATION_SPINS = 1L << 22;
+
+    private final double targetRtp;
+    private final long simulationSpins;
+    private final ProbabilityEngine engine = new ProbabilityEngine();
+    private final Map<ReelWeights, SweepResult> cache = new ConcurrentHashMap<>();
+
+    private static final class Configuration {
+        final int columns;
+        final int symbolCount;
+        final String preset;
+        final String spec;
+
+        Configuration(int columns, int symbolCount, String preset, String spec) {
+            this.columns = columns;
+            this.symbolCount = symbolCount;
+            this.preset = preset;
+            this.spec = spec;
+        }
+    }
+
+    public ConfigSweep(double targetRtp) {
+        this(targetRtp, DEFAULT_SIMULATION_SPINS);
+    }
+
+    public ConfigSweep(double targetRtp, long simulationSpins) {
+        if (targetRtp <= 0 || simulationSpins <= 0) {
+            throw new IllegalArgumentException("Target RTP and simulation spins must be positive");
+        }
+        this.targetRtp = targetRtp;
+        this.simulationSpins = simulationSpins;
+    }
+
+    // Веса набора для symbolCount символов в формате ReelWeights.parse
+    public static String presetSpec(String preset, int symbolCount) {
+        double[] weights = new double[symbolCount];
+        Arrays.fill(weights, 1);
+        switch (preset) {
+            case "uniform":
+                break;
+            case "descending":
+                for (int symbol = 0; symbol < symbolCount; symbol++) {
+                    weights[symbol] = symbolCount - symbol;
+                }
+                break;
+            case "heavy-first":
+                weights[0] = 3;
+                break;
+            case "light-last":
+                weights[symbolCount - 1] = 0.5;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown weight preset: " + preset + " (expected one of " + PRESETS + ")");
+        }
+        return new ReelWeights(new double[][] {weights}).toString();
+    }
+
+    // Все конфигурации; customWeights (может быть null) добавляется к наборам как "custom"
+    // там, где подходит по числу колонок
+    public List<SweepResult> sweep(String customWeights) {
+        List<Configuration> configurations = new ArrayList<>();
+        for (int columns = 1; columns <= MAX_COLUMNS; columns++) {
+            for (int symbols = 1; symbols <= MAX_SYMBOLS; symbols++) {
+                for (String preset : PRESETS) {
+                    configurations.add(new Configuration(columns, symbols, preset, presetSpec(preset, symbols)));
+                }
+                if (customWeights != null && !customWeights.isBlank()) {
+                    configurations.add(new Configuration(columns, symbols, "custom", customWeights));
+                }
+            }
+        }
+        return configurations.parallelStream()
+            .map(c -> evaluate(c.columns, c.symbolCount, c.preset, c.spec))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    // Конфигурации, попавшие в оба диапазона; сначала ближайшие к середине диапазона RTP
+    public List<SweepResult> search(String customWeights, double rtpMin, double rtpMax, double winMin, double winMax) {
+        double rtpCenter = (rtpMin + rtpMax) / 2;
+        return sweep(customWeights).stream()
+            .filter(r -> r.getRtp() >= rtpMin && r.getRtp() <= rtpMax)
+            .filter(r -> r.getWinProbability() >= winMin && r.getWinProbability() <= winMax)
+            .sorted(Comparator.comparingDouble((SweepResult r) -> Math.abs(r.getRtp() - rtpCenter))
+                .thenComparing(Comparator.comparingDouble(SweepResult::getWinProbability).reversed()))
+            .collect(Collectors.toList());
+    }
+
+    // null, если веса не подходят к числу колонок
+    public SweepResult evaluate(int columns, int symbolCount, String preset, String spec) {
+        ReelWeights weights;
+        try {
+            weights = ReelWeights.parse(spec, columns, symbolCount);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        ReelWeights key = weights.normalized();
+        SweepResult cached = cache.get(key);
+        if (cached != null) {
+            return cached.withPreset(preset, weights);
+        }
+        SweepResult result = compute(columns, symbolCount, preset, weights);
+        cache.putIfAbsent(key, result);
+        return result;
+    }
+
+    public int cacheSize() {
+        return cache.size();
+    }
+
+    private SweepResult compute(int columns, int symbolCount, String preset, ReelWeights weights) {
+        // Таблицу выплат (до Paytable.MAX_TABLE_SIZE элементов) точному расчёту строить незачем
+        int[][] multipliers = Paytable.targetRtpMultipliers(weights, targetRtp);
+        double[] linePays = new double[symbolCount];
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            linePays[symbol] = multipliers[symbol][columns];
+        }
+        try {
+            ProbabilityReport report = engine.evaluate(new ProbabilityModel(
+                weights.toReels(), 1, ReelLayout.gameLines(columns), linePays));
+            return new SweepResult(columns, symbolCount, preset, weights, report.getWinProbability(), report.getRtp(), true);
+        } catch (IllegalArgumentException e) {
+            return simulate(columns, symbolCount, preset, weights, new Paytable(columns, symbolCount, multipliers));
+        }
+    }
+
+    // Зерно зависит только от конфигурации, поэтому повторный перебор даёт те же числа
+    private SweepResult simulate(int columns, int symbolCount, String preset, ReelWeights weights, Paytable paytable) {
+        RandomNumberGenerator rng = new SplitMix64Generator(weights.hashCode());
+        SpinEngine spinEngine = new SpinEngine(columns, ReelLayout.rows(columns), symbolCount, rng, weights, paytable);
+        int[] stops = new int[columns];
+        long wins = 0;
+        long paid = 0;
+        for (long i = 0; i < simulationSpins; i++) {
+            if (spinEngine.spinInto(stops)) {
+                wins++;
+            }
+            paid += paytable.payout(stops);
+        }
+        return new SweepResult(columns, symbolCount, preset, weights,
+            (double) wins / simulationSpins, (double) paid / simulationSpins, false);
+    }
+}
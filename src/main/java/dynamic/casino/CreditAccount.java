@@ -0,0 +1,69 @@
+package dynamic.casino;
+
+// Баланс игрока в кредитах с накопительной статистикой ставок и выплат
+public class CreditAccount {
+    private long balance;
+    private long totalBet;
+    private long totalWon;
+    private long spins;
+    private long paidSpins;
+
+    public CreditAccount(long initialBalance) {
+        if (initialBalance < 0) {
+            throw new IllegalArgumentException("Initial balance must not be negative: " + initialBalance);
+        }
+        this.balance = initialBalance;
+    }
+
+    public boolean canBet(long bet) {
+        return bet > 0 && bet <= balance;
+    }
+
+    public void placeBet(long bet) {
+        if (bet <= 0) {
+            throw new IllegalArgumentException("Bet must be positive: " + bet);
+        }
+        if (bet > balance) {
+            throw new IllegalStateException("Недостаточно кредитов: баланс " + balance + ", ставка " + bet);
+        }
+        balance -= bet;
+        totalBet += bet;
+        spins++;
+    }
+
+    public void settle(long payout) {
+        if (payout < 0) {
+            throw new IllegalArgumentException("Payout must not be negative: " + payout);
+        }
+        if (payout > 0) {
+            balance += payout;
+            totalWon += payout;
+            paidSpins++;
+        }
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    public long getTotalBet() {
+        return totalBet;
+    }
+
+    public long getTotalWon() {
+        return totalWon;
+    }
+
+    public long getSpins() {
+        return spins;
+    }
+
+    public long getPaidSpins() {
+        return paidSpins;
+    }
+
+    // Фактический возврат игроку: выплачено / поставлено
+    public double getRtp() {
+        return totalBet == 0 ? 0 : (double) totalWon / totalBet;
+    }
+}
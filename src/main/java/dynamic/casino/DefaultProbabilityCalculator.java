@@ -14,4 +14,23 @@ public class DefaultProbabilityCalculator implements ProbabilityCalculator {
 
         return pwin;
     }
+
+    @Override
+    public double calculateWinProbability(int columns, int rows, ReelWeights weights) {
+        if (columns <= 0 || rows <= 0 || weights == null) {
+            return 0;
+        }
+
+        // Та же формула: вероятность, что ряд собран, — сумма по символам произведений по барабанам
+        double prow = 0;
+        for (int symbol = 0; symbol < weights.getSymbolCount(0); symbol++) {
+            double p = 1;
+            for (int col = 0; col < columns; col++) {
+                p *= weights.probability(col, symbol);
+            }
+            prow += p;
+        }
+
+        return 1 - Math.pow(1 - prow, rows);
+    }
 }
@@ -0,0 +1,38 @@
+package dynamic.casino;
+
+// Вероятность ровно по правилу checkWin (одна линия через все барабаны) с кэшем по конфигурации.
+// Параметр rows описывает раскладку сетки, а не число линий, поэтому на результат не влияет.
+public class ExactProbabilityCalculator implements ProbabilityCalculator {
+    private final ProbabilityEngine engine;
+
+    public ExactProbabilityCalculator() {
+        this(new ProbabilityEngine());
+    }
+
+    public ExactProbabilityCalculator(ProbabilityEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public double calculateWinProbability(int columns, int rows, int symbolCount) {
+        if (columns <= 0 || rows <= 0 || symbolCount <= 0) {
+            return 0;
+        }
+        return engine.evaluate(ProbabilityModel.uniform(columns, symbolCount)).getWinProbability();
+    }
+
+    @Override
+    public double calculateWinProbability(int columns, int rows, ReelWeights weights) {
+        if (columns <= 0 || rows <= 0 || weights == null) {
+            return 0;
+        }
+        if (weights.getColumns() != columns) {
+            throw new IllegalArgumentException("Weights are set for " + weights.getColumns() + " reels, not " + columns);
+        }
+        return engine.evaluate(ProbabilityModel.withReels(weights.toReels())).getWinProbability();
+    }
+
+    public ProbabilityEngine getEngine() {
+        return engine;
+    }
+}
@@ -0,0 +1,345 @@
+package dynamic.casino;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Сервер сессий на loopback без JavaFX. Каждый запрос обрабатывается в своём виртуальном
+// потоке (JDK 21+), на JDK 17 — в пуле потоков. Сессии лежат в ConcurrentHashMap,
+// спин блокирует только свою сессию. Число сессий ограничено, а сессии без запросов дольше
+// idleTimeout вытесняются фоновым потоком, чтобы повторные POST не исчерпали память.
+//   POST   /sessions?columns=3&symbols=8&weights=1,1,2&credits=1000
+//   POST   /sessions/{id}/spin?bet=1
+//   GET    /sessions/{id}
+//   DELETE /sessions/{id}
+//   GET    /jackpot
+// Ответы — JSON.
+public class GameServer {
+    public static final int DEFAULT_PORT = 8777;
+    public static final long DEFAULT_CREDITS = 1000;
+    public static final double TARGET_RTP = 0.95;
+    // Те же пределы, что проверяет applySettings
+    public static final int MAX_COLUMNS = 10;
+    public static final int MAX_SYMBOLS = 8;
+    public static final int DEFAULT_MAX_SESSIONS = 100_000;
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 30 * 60 * 1000;
+    // Таблица выплат — до Paytable.MAX_TABLE_SIZE int (4 МиБ), а веса задаёт клиент
+    private static final int MAX_CACHED_PAYTABLES = 64;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService evictor;
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+    private final SplittableRandomNumberGenerator seedGenerator;
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    // Таблица выплат зависит только от весов, одна на все сессии с такой конфигурацией.
+    // Кэш ограничен LRU: вытесненную таблицу держат только её сессии, и она освобождается
+    // вместе с последней из них
+    private final Map<ReelWeights, Paytable> paytables =
+        new LinkedHashMap<ReelWeights, Paytable>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ReelWeights, Paytable> eldest) {
+                return size() > MAX_CACHED_PAYTABLES;
+            }
+        };
+    private final AtomicLong nextId = new AtomicLong();
+    private final ProgressiveJackpot jackpot = ProgressiveJackpot.shared();
+
+    public GameServer(int port, SplittableRandomNumberGenerator seedGenerator) throws IOException {
+        this(port, seedGenerator, DEFAULT_MAX_SESSIONS, DEFAULT_IDLE_TIMEOUT_MS);
+    }
+
+    public GameServer(int port, SplittableRandomNumberGenerator seedGenerator, int maxSessions, long idleTimeoutMs)
+            throws IOException {
+        if (maxSessions <= 0 || idleTimeoutMs <= 0) {
+            throw new IllegalArgumentException("maxSessions and idleTimeoutMs must be positive: "
+                + maxSessions + ", " + idleTimeoutMs);
+        }
+        this.seedGenerator = seedGenerator;
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        // Без TCP_NODELAY заголовки и тело ответа уходят разными пакетами и каждый запрос
+        // ждёт отложенного ACK (около 40 мс); свойство читается при первом создании сервера
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        // По умолчанию сервер держит 200 простаивающих соединений и закрывает лишние,
+        // а клиент с тысячами сессий получает обрыв на переиспользованном соединении
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+            System.setProperty("sun.net.httpserver.maxIdleConnections", "16384");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.executor = newRequestExecutor("game-server");
+        server.setExecutor(executor);
+        server.createContext("/sessions", this::handle);
+        server.createContext("/jackpot", this::handleJackpot);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "game-server-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, Math.min(idleTimeoutMs / 2, 60_000));
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        evictor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public GameSession createSession(int columns, int symbols, String weightsSpec, long credits) {
+        // Предел мягкий: одновременные запросы могут превысить его на число потоков
+        if (sessions.size() >= maxSessions && evictIdle() == 0) {
+            throw new IllegalStateException("Session limit reached: " + maxSessions);
+        }
+        if (columns < 1 || columns > MAX_COLUMNS || symbols < 1 || symbols > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("columns must be 1.." + MAX_COLUMNS + " and symbols 1.." + MAX_SYMBOLS
+                + ": " + columns + ", " + symbols);
+        }
+        ReelWeights weights = ReelWeights.parse(weightsSpec, columns, symbols);
+        Paytable paytable = paytable(weights);
+        if (columns >= 2 && !paytable.paysAnything()) {
+            throw new IllegalArgumentException("No paytable stays within the target RTP for these weights: " + weights);
+        }
+        // split() меняет состояние общего генератора; это единственное место с общим замком,
+        // и оно на пути создания сессии, а не спина
+        SplittableRandomNumberGenerator stream;
+        synchronized (seedGenerator) {
+            stream = seedGenerator.split();
+        }
+        SpinEngine engine = new SpinEngine(columns, ReelLayout.rows(columns), symbols, stream, weights, paytable);
+        String id = Long.toHexString(nextId.incrementAndGet());
+        GameSession session = new GameSession(id, engine, credits, jackpot);
+        sessions.put(id, session);
+        return session;
+    }
+
+    public ProgressiveJackpot getJackpot() {
+        return jackpot;
+    }
+
+    int getCachedPaytableCount() {
+        synchronized (paytables) {
+            return paytables.size();
+        }
+    }
+
+    // Таблица строится вне замка: одновременные запросы с новыми весами не ждут друг друга
+    private Paytable paytable(ReelWeights weights) {
+        synchronized (paytables) {
+            Paytable cached = paytables.get(weights);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Если джекпот разыгрывается, он возвращает свою долю ставки сам, линии добирают остальное
+        Paytable built = Paytable.forTargetRtp(weights, TARGET_RTP, jackpot);
+        synchronized (paytables) {
+            Paytable raced = paytables.putIfAbsent(weights, built);
+            return raced != null ? raced : built;
+        }
+    }
+
+    public GameSession getSession(String id) {
+        return sessions.get(id);
+    }
+
+    // Удаляет сессии без запросов дольше idleTimeout и возвращает их число
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (GameSession session : sessions.values()) {
+            if (now - session.getLastUsedNanos() > idleTimeoutNanos && sessions.remove(session.getId(), session)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    // Виртуальные потоки ищем через reflection, чтобы сборка оставалась на Java 11
+    static ExecutorService newRequestExecutor(String name) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicLong threads = new AtomicLong();
+            return Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, name + "-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    static boolean hasVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String[] parts = path.split("/");
+            // parts: "", "sessions"[, id[, "spin"]]; контекст совпадает и с /sessionsXYZ
+            if (parts.length < 2 || parts.length > 4 || !parts[1].equals("sessions")) {
+                send(exchange, 404, error("Unknown endpoint: " + method + " " + path));
+                return;
+            }
+
+            if (parts.length == 2) {
+                if (!method.equals("POST")) {
+                    send(exchange, 405, error("Use POST to create a session"));
+                    return;
+                }
+                GameSession session = createSession(
+                    intParameter(query, "columns", 3),
+                    intParameter(query, "symbols", 8),
+                    query.get("weights"),
+                    longParameter(query, "credits", DEFAULT_CREDITS));
+                send(exchange, 201, sessionJson(session));
+                return;
+            }
+
+            GameSession session = sessions.get(parts[2]);
+            if (session == null) {
+                send(exchange, 404, error("Unknown session: " + parts[2]));
+                return;
+            }
+            if (parts.length == 4 && parts[3].equals("spin") && method.equals("POST")) {
+                send(exchange, 200, spinJson(session.spin(longParameter(query, "bet", 1))));
+            } else if (parts.length == 3 && method.equals("GET")) {
+                session.touch();
+                send(exchange, 200, sessionJson(session));
+            } else if (parts.length == 3 && method.equals("DELETE")) {
+                sessions.remove(session.getId());
+                send(exchange, 200, sessionJson(session));
+            } else {
+                send(exchange, 404, error("Unknown endpoint: " + method + " " + path));
+            }
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            send(exchange, 409, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            send(exchange, 500, error(String.valueOf(e)));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleJackpot(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestURI().getPath().equals("/jackpot")) {
+                send(exchange, 404, error("Unknown endpoint: " + exchange.getRequestURI().getPath()));
+                return;
+            }
+            send(exchange, 200, "{\"pool\":" + jackpot.getPool() + ",\"payouts\":" + jackpot.getPayouts() + "}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String sessionJson(GameSession session) {
+        SpinEngine engine = session.getEngine();
+        return "{\"id\":\"" + session.getId() + "\",\"columns\":" + engine.getColumns()
+            + ",\"symbols\":" + engine.getSymbolCount() + ",\"config\":" + engine.getConfigId()
+            + ",\"balance\":" + session.getBalance() + ",\"spins\":" + session.getSpins()
+            + ",\"rtp\":" + session.getRtp() + "}";
+    }
+
+    private static String spinJson(GameSession.Spin spin) {
+        SpinResult result = spin.getResult();
+        StringBuilder json = new StringBuilder(96);
+        json.append("{\"spin\":").append(spin.getNumber()).append(",\"stops\":[");
+        for (int col = 0; col < result.getColumns(); col++) {
+            if (col > 0) {
+                json.append(',');
+            }
+            json.append(result.getStop(col));
+        }
+        json.append("],\"win\":").append(result.isWin())
+            .append(",\"payout\":").append(spin.getPayout())
+            .append(",\"jackpot\":").append(spin.getJackpot())
+            .append(",\"balance\":").append(spin.getBalance()).append('}');
+        return json.toString();
+    }
+
+    private static String error(String message) {
+        return "{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(name, value);
+        }
+        return query;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer: " + value);
+        }
+    }
+
+    private static long longParameter(Map<String, String> query, String name, long defaultValue) {
+        String value = query.get(name);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer: " + value);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dynamic.casino;
+
+// Одна игровая сессия сервера: своя конфигурация, свой поток ГСЧ и свой баланс.
+// Блокировка — монитор самой сессии, поэтому разные сессии крутятся параллельно без общих замков.
+public class GameSession {
+    private final String id;
+    private final SpinEngine engine;
+    private final CreditAccount account;
+    private final ProgressiveJackpot jackpot; // null — без джекпота
+    private volatile long lastUsed = System.nanoTime(); // Для вытеснения простаивающих сессий сервером
+
+    public GameSession(String id, SpinEngine engine, long credits) {
+        this(id, engine, credits, null);
+    }
+
+    public GameSession(String id, SpinEngine engine, long credits, ProgressiveJackpot jackpot) {
+        this.id = id;
+        this.engine = engine;
+        this.account = new CreditAccount(credits);
+        this.jackpot = jackpot;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public SpinEngine getEngine() {
+        return engine;
+    }
+
+    public synchronized Spin spin(long bet) {
+        touch();
+        account.placeBet(bet);
+        SpinResult result = engine.spin();
+        long payout = bet * result.getMultiplier();
+        long jackpotWon = 0;
+        // Взнос берётся только там, где таблица разыгрывает джекпот и вычла его долю из линий
+        Paytable paytable = engine.getPaytable();
+        if (jackpot != null && paytable != null && paytable.hasJackpot()) {
+            jackpot.contribute(bet);
+            if (paytable.isJackpotLine(result)) {
+                jackpotWon = jackpot.payout();
+            }
+        }
+        account.settle(payout + jackpotWon);
+        return new Spin(result, payout, jackpotWon, account.getBalance(), account.getSpins());
+    }
+
+    public void touch() {
+        lastUsed = System.nanoTime();
+    }
+
+    public long getLastUsedNanos() {
+        return lastUsed;
+    }
+
+    public synchronized long getBalance() {
+        return account.getBalance();
+    }
+
+    public synchronized long getSpins() {
+        return account.getSpins();
+    }
+
+    public synchronized double getRtp() {
+        return account.getRtp();
+    }
+
+    // Итог спина вместе с балансом на момент его завершения
+    public static final class Spin {
+        private final SpinResult result;
+        private final long payout;
+        private final long jackpot;
+        private final long balance;
+        private final long number;
+
+        Spin(SpinResult result, long payout, long jackpot, long balance, long number) {
+            this.result = result;
+            this.payout = payout;
+            this.jackpot = jackpot;
+            this.balance = balance;
+            this.number = number;
+        }
+
+        public SpinResult getResult() {
+            return result;
+        }
+
+        public long getPayout() {
+            return payout;
+        }
+
+        // Выигранный джекпот, 0 — если главная комбинация не выпала
+        public long getJackpot() {
+            return jackpot;
+        }
+
+        public long getBalance() {
+            return balance;
+        }
+
+        public long getNumber() {
+            return number;
+        }
+    }
+}
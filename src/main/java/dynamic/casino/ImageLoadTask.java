@@ -0,0 +1,127 @@
+package dynamic.casino;
+
+import javafx.concurrent.Task;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+// Декодирует изображения в фоновом потоке сразу в размер ячейки барабана,
+// чтобы в памяти не лежали полноразмерные картинки. Неизменившиеся файлы берутся
+// из постоянного индекса, одинаковые по содержимому файлы считаются одним символом.
+// Там же собирается атлас символов, чтобы поток интерфейса получил готовую текстуру.
+public class ImageLoadTask extends Task<List<Image>> {
+    private final File directory;
+    private final File[] files;
+    private final SymbolImageCache cache;
+    private final int width;
+    private final int height;
+
+    private volatile int duplicateCount;
+    private volatile SymbolAtlas atlas;
+
+    public ImageLoadTask(File directory, File[] files, SymbolImageCache cache, double width, double height) {
+        this.directory = directory;
+        this.files = files.clone();
+        // Порядок символов не должен зависеть от файловой системы
+        Arrays.sort(this.files, Comparator.comparing(File::getName));
+        this.cache = cache;
+        this.width = (int) width;
+        this.height = (int) height;
+    }
+
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    // null, если изображений нет
+    public SymbolAtlas getAtlas() {
+        return atlas;
+    }
+
+    @Override
+    protected List<Image> call() {
+        SymbolIndex index = SymbolIndex.load(directory);
+        List<Image> images = new ArrayList<>();
+        Set<String> seenHashes = new HashSet<>();
+        List<String> names = new ArrayList<>();
+        int duplicates = 0;
+
+        for (int i = 0; i < files.length; i++) {
+            if (isCancelled()) {
+                return images;
+            }
+            File file = files[i];
+            names.add(file.getName());
+            updateMessage("Загрузка изображений: " + (i + 1) + " из " + files.length);
+
+            long loadStart = Metrics.ENABLED ? System.nanoTime() : 0;
+            SymbolIndex.Entry entry = index.get(file.getName());
+            if (entry == null || !entry.matches(file, width, height)) {
+                entry = indexFile(file);
+                if (entry != null) {
+                    index.put(file.getName(), entry);
+                }
+            }
+
+            if (entry != null) {
+                if (seenHashes.add(entry.getContentHash())) {
+                    images.add(toImage(file, entry));
+                } else {
+                    duplicates++;
+                }
+            }
+            if (Metrics.ENABLED) {
+                Metrics.imageLoaded(System.nanoTime() - loadStart);
+            }
+            updateProgress(i + 1, files.length);
+        }
+
+        duplicateCount = duplicates;
+        if (!images.isEmpty()) {
+            atlas = SymbolAtlas.build(images, width);
+        }
+        index.retainOnly(names);
+        try {
+            index.save(directory);
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить индекс изображений: " + e.getMessage());
+        }
+        return images;
+    }
+
+    private SymbolIndex.Entry indexFile(File file) {
+        try {
+            String hash = SymbolIndex.hash(file);
+            Image image = new Image(file.toURI().toString(), width, height, false, true, false);
+            if (image.isError() || image.getPixelReader() == null) {
+                return null;
+            }
+            int w = (int) image.getWidth();
+            int h = (int) image.getHeight();
+            int[] pixels = new int[w * h];
+            image.getPixelReader().getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixels, 0, w);
+            // Файл мог поменяться, пока его читали, — тогда индекс его просто перехеширует в следующий раз
+            return new SymbolIndex.Entry(file.length(), file.lastModified(), hash, w, h, pixels);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ошибка загрузки изображения: " + file.getName());
+            return null;
+        }
+    }
+
+    private Image toImage(File file, SymbolIndex.Entry entry) {
+        String key = SymbolImageCache.key(file, width, height);
+        Image image = cache.get(key);
+        if (image == null) {
+            WritableImage thumbnail = new WritableImage(entry.getWidth(), entry.getHeight());
+            thumbnail.getPixelWriter().setPixels(0, 0, entry.getWidth(), entry.getHeight(),
+                PixelFormat.getIntArgbInstance(), entry.getPixels(), 0, entry.getWidth());
+            image = thumbnail;
+            cache.put(key, image);
+        }
+        return image;
+    }
+}
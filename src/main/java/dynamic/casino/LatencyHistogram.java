@@ -0,0 +1,93 @@
+package dynamic.casino;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Лог-линейная гистограмма в духе HdrHistogram: на каждую степень двойки 32 линейные ячейки,
+// относительная погрешность не больше 1/32. Значения до 64 хранятся точно, больше 2^40 нс
+// (около 18 минут) попадают в последнюю ячейку. Запись — инкремент в AtomicLongArray
+// без блокировок и аллокаций, писать можно из любых потоков.
+public class LatencyHistogram {
+    private static final int SUB_BITS = 6;
+    private static final int HALF = 1 << (SUB_BITS - 1);
+    private static final int MAX_MAGNITUDE = 40;
+    private static final int CELLS = index((1L << MAX_MAGNITUDE) - 1) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(CELLS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(Math.min(index(value), CELLS - 1));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    // Верхняя граница ячейки, в которую попал квантиль q; не больше максимума
+    public long getPercentile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be in [0, 1]: " + q);
+        }
+        long[] snapshot = new long[CELLS];
+        long total = 0;
+        for (int i = 0; i < CELLS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < CELLS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < CELLS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    // Ячейка: magnitude = номер старшего бита сверх SUB_BITS, внутри — старшие SUB_BITS бит значения
+    static int index(long value) {
+        int magnitude = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1);
+        return (magnitude << (SUB_BITS - 1)) + (int) (value >>> magnitude);
+    }
+
+    static long highestValue(int index) {
+        if (index < 2 * HALF) {
+            return index;
+        }
+        int magnitude = (index >> (SUB_BITS - 1)) - 1;
+        long sub = index - ((long) magnitude << (SUB_BITS - 1));
+        return ((sub + 1) << magnitude) - 1;
+    }
+}
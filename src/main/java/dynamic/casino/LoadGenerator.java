@@ -0,0 +1,108 @@
+package dynamic.casino;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Нагрузочный клиент для GameServer: создаёт сессии и крутит их из concurrency потоков,
+// каждый поток ведёт свою часть сессий по кругу. Задержка каждого запроса спина
+// пишется в LatencyHistogram.
+public class LoadGenerator {
+    private static final Pattern SESSION_ID = Pattern.compile("\"id\":\"([0-9a-f]+)\"");
+
+    private final URI base;
+    private final HttpClient client;
+
+    public LoadGenerator(URI base) {
+        this.base = base;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    public String run(int sessionCount, long spinsPerSession, int concurrency, int columns, int symbols)
+            throws IOException, InterruptedException {
+        if (sessionCount <= 0 || spinsPerSession < 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("sessions and concurrency must be positive, spins not negative");
+        }
+        String[] ids = new String[sessionCount];
+        for (int i = 0; i < sessionCount; i++) {
+            // Ставка 1, поэтому кредитов хватит на все спины
+            String body = send("POST", "/sessions?columns=" + columns + "&symbols=" + symbols
+                + "&credits=" + Math.max(1, spinsPerSession));
+            Matcher matcher = SESSION_ID.matcher(body);
+            if (!matcher.find()) {
+                throw new IOException("Unexpected response: " + body);
+            }
+            ids[i] = matcher.group(1);
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        ExecutorService workers = GameServer.newRequestExecutor("load");
+        long start = System.nanoTime();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            int worker = w;
+            tasks.add(workers.submit(() -> {
+                for (long spin = 0; spin < spinsPerSession; spin++) {
+                    for (int s = worker; s < ids.length; s += concurrency) {
+                        long requestStart = System.nanoTime();
+                        try {
+                            send("POST", "/sessions/" + ids[s] + "/spin?bet=1");
+                            latency.record(System.nanoTime() - requestStart);
+                        } catch (IOException e) {
+                            errors.increment();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                errors.increment();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        workers.shutdown();
+
+        long spins = latency.getCount();
+        return String.format(
+            "sessions=%d spins=%d concurrency=%d errors=%d virtualThreads=%s%n" +
+            "time=%.2fs  %.0f spins/s%n" +
+            "latency p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms",
+            sessionCount, spins, concurrency, errors.sum(), GameServer.hasVirtualThreads(),
+            elapsed / 1e9, spins * 1e9 / elapsed,
+            latency.getPercentile(0.5) / 1e6, latency.getPercentile(0.99) / 1e6,
+            latency.getPercentile(0.999) / 1e6, latency.getMax() / 1e6);
+    }
+
+    private String send(String method, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(path))
+            .method(method, HttpRequest.BodyPublishers.noBody())
+            .timeout(Duration.ofSeconds(30))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IOException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
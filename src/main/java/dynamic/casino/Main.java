@@ -1,6 +1,7 @@
 package dynamic.casino;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -10,15 +11,41 @@ import java.io.IOException;
 
 public class Main extends Application {
 
+    private CasinoController controller;
+
     @Override
     public void start(Stage primaryStage) throws IOException {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/casino.fxml"));
         Parent root = loader.load();
+        controller = loader.getController();
+        if (Metrics.ENABLED) {
+            Metrics.registerMBean();
+            root = MetricsOverlay.wrap(root);
+        }
         primaryStage.setTitle("Игровой автомат казино 777");
-        primaryStage.setScene(new Scene(root, 1250, 750));
+        Scene scene = new Scene(root, 1250, 750);
+        scene.getStylesheets().add(CasinoController.STYLESHEET);
+        if (Metrics.ENABLED) {
+            scene.addPostLayoutPulseListener(new Runnable() {
+                @Override
+                public void run() {
+                    Metrics.firstFrameShown();
+                    // Снимаем слушатель вне обхода списка слушателей
+                    Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+                }
+            });
+        }
+        primaryStage.setScene(scene);
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -0,0 +1,212 @@
+package dynamic.casino;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Счётчики и гистограммы задержек. Включаются -Dcasino.metrics=true; флаг static final,
+// поэтому при выключенных метриках JIT выбрасывает проверки, а вызывающий код
+// не читает System.nanoTime() вовсе (см. Metrics.ENABLED в ReelRenderer и контроллере).
+public final class Metrics implements MetricsMBean {
+    public static final boolean ENABLED = Boolean.getBoolean("casino.metrics");
+    public static final String OBJECT_NAME = "dynamic.casino:type=Metrics";
+
+    private static final Metrics INSTANCE = new Metrics();
+
+    private final LongAdder spins = new LongAdder();
+    private final LongAdder rngDraws = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder imagesLoaded = new LongAdder();
+    // Старт спина → показ результата
+    private final LatencyHistogram spinLatency = new LatencyHistogram();
+    // Срабатывание Timeline остановки → showFinalResult
+    private final LatencyHistogram resultLag = new LatencyHistogram();
+    // |фактическая длительность шага барабана − stepDurationMs|
+    private final LatencyHistogram stepJitter = new LatencyHistogram();
+    // Интервал между импульсами FX и время работы кадра в AnimationTimer
+    private final LatencyHistogram framePulse = new LatencyHistogram();
+    private final LatencyHistogram frameWork = new LatencyHistogram();
+    private final LatencyHistogram imageLoad = new LatencyHistogram();
+    // Старт JVM → первый кадр окна; измеряется один раз и сбросом не затирается
+    private volatile long firstFrameNanos;
+
+    private Metrics() {
+    }
+
+    public static Metrics get() {
+        return INSTANCE;
+    }
+
+    public static void spinCompleted(long latencyNanos, long draws) {
+        if (ENABLED) {
+            INSTANCE.spins.increment();
+            INSTANCE.rngDraws.add(draws);
+            INSTANCE.spinLatency.record(latencyNanos);
+        }
+    }
+
+    public static void resultShown(long lagNanos) {
+        if (ENABLED) {
+            INSTANCE.resultLag.record(lagNanos);
+        }
+    }
+
+    public static void step(long jitterNanos) {
+        if (ENABLED) {
+            INSTANCE.stepJitter.record(Math.abs(jitterNanos));
+        }
+    }
+
+    public static void frame(long pulseNanos, long workNanos) {
+        if (ENABLED) {
+            INSTANCE.frames.increment();
+            if (pulseNanos > 0) {
+                INSTANCE.framePulse.record(pulseNanos);
+            }
+            INSTANCE.frameWork.record(workNanos);
+        }
+    }
+
+    public static void imageLoaded(long nanos) {
+        if (ENABLED) {
+            INSTANCE.imagesLoaded.increment();
+            INSTANCE.imageLoad.record(nanos);
+        }
+    }
+
+    // Вызывается из первого импульса сцены после показа окна
+    public static void firstFrameShown() {
+        if (ENABLED && INSTANCE.firstFrameNanos == 0) {
+            INSTANCE.firstFrameNanos = ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+        }
+    }
+
+    // Регистрирует MBean в платформенном MBeanServer; без включённых метрик ничего не делает
+    public static void registerMBean() {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Не удалось зарегистрировать MBean метрик: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long getSpins() {
+        return spins.sum();
+    }
+
+    @Override
+    public long getRngDraws() {
+        return rngDraws.sum();
+    }
+
+    @Override
+    public double getRngDrawsPerSpin() {
+        long n = spins.sum();
+        return n == 0 ? 0 : (double) rngDraws.sum() / n;
+    }
+
+    @Override
+    public long getFrames() {
+        return frames.sum();
+    }
+
+    @Override
+    public long getImagesLoaded() {
+        return imagesLoaded.sum();
+    }
+
+    @Override
+    public double getSpinLatencyP50Millis() {
+        return millis(spinLatency.getPercentile(0.5));
+    }
+
+    @Override
+    public double getSpinLatencyP99Millis() {
+        return millis(spinLatency.getPercentile(0.99));
+    }
+
+    @Override
+    public double getSpinLatencyMaxMillis() {
+        return millis(spinLatency.getMax());
+    }
+
+    @Override
+    public double getResultLagP99Millis() {
+        return millis(resultLag.getPercentile(0.99));
+    }
+
+    @Override
+    public double getStepJitterP50Millis() {
+        return millis(stepJitter.getPercentile(0.5));
+    }
+
+    @Override
+    public double getStepJitterP99Millis() {
+        return millis(stepJitter.getPercentile(0.99));
+    }
+
+    @Override
+    public double getFramePulseP99Millis() {
+        return millis(framePulse.getPercentile(0.99));
+    }
+
+    @Override
+    public double getFrameWorkP99Millis() {
+        return millis(frameWork.getPercentile(0.99));
+    }
+
+    @Override
+    public double getImageLoadP99Millis() {
+        return millis(imageLoad.getPercentile(0.99));
+    }
+
+    @Override
+    public double getTimeToFirstFrameMillis() {
+        return millis(firstFrameNanos);
+    }
+
+    @Override
+    public String getSummary() {
+        return String.format(
+            "спины: %d, выборок ГСЧ на спин: %.1f%n" +
+            "спин p50/p99/max: %.0f / %.0f / %.0f мс%n" +
+            "задержка результата p99: %.1f мс%n" +
+            "дрожание шага p50/p99: %.1f / %.1f мс%n" +
+            "кадры: %d, импульс p99: %.1f мс, работа p99: %.2f мс%n" +
+            "изображения: %d, загрузка p99: %.1f мс%n" +
+            "первый кадр: %.0f мс от старта JVM",
+            getSpins(), getRngDrawsPerSpin(),
+            getSpinLatencyP50Millis(), getSpinLatencyP99Millis(), getSpinLatencyMaxMillis(),
+            getResultLagP99Millis(),
+            getStepJitterP50Millis(), getStepJitterP99Millis(),
+            getFrames(), getFramePulseP99Millis(), getFrameWorkP99Millis(),
+            getImagesLoaded(), getImageLoadP99Millis(),
+            getTimeToFirstFrameMillis());
+    }
+
+    @Override
+    public void reset() {
+        spins.reset();
+        rngDraws.reset();
+        frames.reset();
+        imagesLoaded.reset();
+        spinLatency.reset();
+        resultLag.reset();
+        stepJitter.reset();
+        framePulse.reset();
+        frameWork.reset();
+        imageLoad.reset();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,38 @@
+package dynamic.casino;
+
+// Атрибуты JMX: dynamic.casino:type=Metrics. Времена в миллисекундах
+public interface MetricsMBean {
+    long getSpins();
+
+    long getRngDraws();
+
+    double getRngDrawsPerSpin();
+
+    long getFrames();
+
+    long getImagesLoaded();
+
+    double getSpinLatencyP50Millis();
+
+    double getSpinLatencyP99Millis();
+
+    double getSpinLatencyMaxMillis();
+
+    double getResultLagP99Millis();
+
+    double getStepJitterP50Millis();
+
+    double getStepJitterP99Millis();
+
+    double getFramePulseP99Millis();
+
+    double getFrameWorkP99Millis();
+
+    double getImageLoadP99Millis();
+
+    double getTimeToFirstFrameMillis();
+
+    String getSummary();
+
+    void reset();
+}
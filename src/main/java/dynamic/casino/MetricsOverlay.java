@@ -0,0 +1,36 @@
+package dynamic.casino;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+
+// Полупрозрачная панель метрик поверх окна, обновляется дважды в секунду.
+// Не перехватывает мышь, поэтому игре не мешает.
+public final class MetricsOverlay {
+    private static final Duration REFRESH = Duration.millis(500);
+
+    private MetricsOverlay() {
+    }
+
+    public static Parent wrap(Parent content) {
+        Label label = new Label(Metrics.get().getSummary());
+        label.setMouseTransparent(true);
+        label.setPadding(new Insets(8));
+        label.getStyleClass().add("metrics-overlay");
+        StackPane.setAlignment(label, Pos.TOP_RIGHT);
+        StackPane.setMargin(label, new Insets(10));
+
+        Timeline refresh = new Timeline(new KeyFrame(REFRESH, e -> label.setText(Metrics.get().getSummary())));
+        refresh.setCycleCount(Timeline.INDEFINITE);
+        refresh.play();
+
+        StackPane root = new StackPane(content, label);
+        root.setPickOnBounds(false);
+        return root;
+    }
+}
@@ -0,0 +1,87 @@
+package dynamic.casino;
+
+public class MonteCarloResult {
+    private final int columns;
+    private final int rows;
+    private final int symbolCount;
+    private final long spins;
+    private final long wins;
+    private final double analyticProbability;
+    private final double z;
+    private final long elapsedNanos;
+
+    public MonteCarloResult(int columns, int rows, int symbolCount, long spins, long wins,
+                            double analyticProbability, double z, long elapsedNanos) {
+        this.columns = columns;
+        this.rows = rows;
+        this.symbolCount = symbolCount;
+        this.spins = spins;
+        this.wins = wins;
+        this.analyticProbability = analyticProbability;
+        this.z = z;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getSpins() {
+        return spins;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public double getEmpiricalProbability() {
+        return spins == 0 ? 0 : (double) wins / spins;
+    }
+
+    public double getAnalyticProbability() {
+        return analyticProbability;
+    }
+
+    // Интервал Уилсона: в отличие от нормального приближения не вырождается при p около 0
+    public double getLowerBound() {
+        return wilson(-1);
+    }
+
+    public double getUpperBound() {
+        return wilson(1);
+    }
+
+    private double wilson(int sign) {
+        if (spins == 0) {
+            return sign < 0 ? 0 : 1;
+        }
+        double n = spins;
+        double p = getEmpiricalProbability();
+        double z2 = z * z;
+        double center = p + z2 / (2 * n);
+        double margin = z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n));
+        double bound = (center + sign * margin) / (1 + z2 / n);
+        return Math.max(0, Math.min(1, bound));
+    }
+
+    public boolean isAnalyticWithinInterval() {
+        return analyticProbability >= getLowerBound() && analyticProbability <= getUpperBound();
+    }
+
+    public double getSpinsPerSecond() {
+        return elapsedNanos == 0 ? 0 : spins * 1e9 / elapsedNanos;
+    }
+
+    public String toReport() {
+        return String.format(
+            "columns=%d rows=%d symbols=%d spins=%d wins=%d%n" +
+            "empirical=%.8f  interval(z=%.2f)=[%.8f, %.8f]%n" +
+            "analytic =%.8f  %s%n" +
+            "time=%.2fs  %.1fM spins/s",
+            columns, rows, symbolCount, spins, wins,
+            getEmpiricalProbability(), z, getLowerBound(), getUpperBound(),
+            analyticProbability, isAnalyticWithinInterval() ? "OK" : "MISMATCH",
+            elapsedNanos / 1e9, getSpinsPerSecond() / 1e6);
+    }
+
+    @Override
+    public String toString() {
+        return toReport();
+    }
+}
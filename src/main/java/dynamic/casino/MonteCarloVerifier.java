@@ -0,0 +1,102 @@
+package dynamic.casino;
+
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+// Проверяет ProbabilityCalculator симуляцией: спины делятся на блоки и считаются
+// параллельно на всех ядрах, у каждого блока свой генератор и свой счётчик.
+public class MonteCarloVerifier {
+    private static final long CHUNK_SIZE = 1L << 22;
+    public static final double DEFAULT_Z = 3.2905; // 99.9%
+
+    private final ProbabilityCalculator probabilityCalculator;
+    private final Supplier<RandomNumberGenerator> rngFactory;
+    private final double z;
+
+    public MonteCarloVerifier() {
+        this(new ExactProbabilityCalculator(), DefaultRandomGenerator::new, DEFAULT_Z);
+    }
+
+    public MonteCarloVerifier(ProbabilityCalculator probabilityCalculator,
+                              Supplier<RandomNumberGenerator> rngFactory, double z) {
+        this.probabilityCalculator = probabilityCalculator;
+        this.rngFactory = rngFactory;
+        this.z = z;
+    }
+
+    public MonteCarloResult verify(int columns, int rows, int symbolCount, long spins) {
+        return run(columns, rows, symbolCount, null, spins, chunk -> rngFactory.get());
+    }
+
+    public MonteCarloResult verify(int columns, int rows, ReelWeights weights, long spins) {
+        return run(columns, rows, weights.getSymbolCount(0), weights, spins, chunk -> rngFactory.get());
+    }
+
+    // Воспроизводимый режим: блок i всегда получает i-й поток от split(),
+    // поэтому результат не зависит от числа ядер и порядка выполнения
+    public MonteCarloResult verify(int columns, int rows, int symbolCount, long spins,
+                                   SplittableRandomNumberGenerator seedGenerator) {
+        return verify(columns, rows, ReelWeights.uniform(columns, symbolCount), spins, seedGenerator);
+    }
+
+    public MonteCarloResult verify(int columns, int rows, ReelWeights weights, long spins,
+                                   SplittableRandomNumberGenerator seedGenerator) {
+        long chunks = chunkCount(spins);
+        if (chunks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many spins for a seeded run: " + spins);
+        }
+        RandomNumberGenerator[] streams = new RandomNumberGenerator[(int) chunks];
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = seedGenerator.split();
+        }
+        return run(columns, rows, weights.getSymbolCount(0), weights, spins, chunk -> streams[(int) chunk]);
+    }
+
+    private MonteCarloResult run(int columns, int rows, int symbolCount, ReelWeights weights, long spins,
+                                 LongFunction<RandomNumberGenerator> streamForChunk) {
+        long chunks = chunkCount(spins);
+        long start = System.nanoTime();
+
+        long wins = LongStream.range(0, chunks)
+            .parallel()
+            .map(chunk -> {
+                long chunkSpins = Math.min(CHUNK_SIZE, spins - chunk * CHUNK_SIZE);
+                BatchSpinEvaluator batch = new BatchSpinEvaluator(
+                    columns, symbolCount, BatchSpinEvaluator.DEFAULT_BATCH_SIZE, weights);
+                return batch.countWins(streamForChunk.apply(chunk), chunkSpins);
+            })
+            .sum();
+
+        long elapsed = System.nanoTime() - start;
+        double analytic = weights == null
+            ? probabilityCalculator.calculateWinProbability(columns, rows, symbolCount)
+            : probabilityCalculator.calculateWinProbability(columns, rows, weights);
+        return new MonteCarloResult(columns, rows, symbolCount, spins, wins, analytic, z, elapsed);
+    }
+
+    private static long chunkCount(long spins) {
+        if (spins < 0) {
+            throw new IllegalArgumentException("spins must not be negative: " + spins);
+        }
+        return (spins + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    // Запуск: MonteCarloVerifier <columns> <symbols> <spins> [seed]
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: MonteCarloVerifier <columns> <symbols> <spins> [seed]");
+            System.exit(2);
+        }
+        int columns = Integer.parseInt(args[0]);
+        int symbols = Integer.parseInt(args[1]);
+        long spins = Long.parseLong(args[2]);
+        int rows = ReelLayout.rows(columns);
+
+        MonteCarloVerifier verifier = new MonteCarloVerifier();
+        MonteCarloResult result = args.length > 3
+            ? verifier.verify(columns, rows, symbols, spins, new Xoshiro256StarStarGenerator(Long.parseLong(args[3])))
+            : verifier.verify(columns, rows, symbols, spins);
+        System.out.println(result.toReport());
+    }
+}
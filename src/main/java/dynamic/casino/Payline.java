@@ -0,0 +1,61 @@
+package dynamic.casino;
+
+import java.util.Arrays;
+
+// Линия выплат: для каждого барабана — ряд окна, через который она проходит, или -1,
+// если барабан в линию не входит. Линия выигрывает, когда на всех её барабанах
+// (минимум двух) один и тот же символ.
+public class Payline {
+    public static final int NONE = -1;
+
+    private final int[] rows;
+    private final int reelCount;
+
+    public Payline(int[] rows) {
+        int count = 0;
+        for (int row : rows) {
+            if (row < NONE) {
+                throw new IllegalArgumentException("Invalid payline row: " + row);
+            }
+            if (row != NONE) {
+                count++;
+            }
+        }
+        this.rows = rows.clone();
+        this.reelCount = count;
+    }
+
+    public static Payline across(int columns, int fromReel, int toReel, int row) {
+        int[] rows = new int[columns];
+        Arrays.fill(rows, NONE);
+        Arrays.fill(rows, fromReel, toReel, row);
+        return new Payline(rows);
+    }
+
+    public int getColumns() {
+        return rows.length;
+    }
+
+    public int rowOn(int reel) {
+        return rows[reel];
+    }
+
+    public int getReelCount() {
+        return reelCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Payline && Arrays.equals(rows, ((Payline) o).rows);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(rows);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(rows);
+    }
+}
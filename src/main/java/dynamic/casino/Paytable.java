@@ -0,0 +1,247 @@
+package dynamic.casino;
+
+import java.util.Arrays;
+
+// Таблица выплат: множитель ставки за серию одинаковых символов слева направо
+// (multipliers[symbol][длина серии]). Выигрыш по правилу checkWin — серия на все колонки.
+// Для скорости остановки кодируются числом в смешанной системе счисления, и выплата
+// берётся из заранее посчитанной таблицы одним обращением к массиву.
+// Если symbolCount^columns не помещается в MAX_TABLE_SIZE, таблица строится по первым
+// колонкам, а серия дальше проверяется только когда она покрыла их все.
+public class Paytable {
+    public static final int MAX_TABLE_SIZE = 1 << 20;
+
+    private final int columns;
+    private final int symbolCount;
+    private final int[][] multipliers;
+    private final int jackpotSymbol; // -1 — джекпот не разыгрывается
+
+    private final int tableColumns;
+    private final int[] table; // выплата, если tableColumns == columns, иначе (серия << 8) | символ
+
+    public Paytable(int columns, int symbolCount, int[][] multipliers) {
+        this(columns, symbolCount, multipliers, -1);
+    }
+
+    public Paytable(int columns, int symbolCount, int[][] multipliers, int jackpotSymbol) {
+        if (columns <= 0 || symbolCount <= 0 || symbolCount > 255) {
+            throw new IllegalArgumentException("Invalid paytable size: " + columns + " columns, " + symbolCount + " symbols");
+        }
+        if (multipliers.length != symbolCount) {
+            throw new IllegalArgumentException("Multipliers are required for each of " + symbolCount + " symbols");
+        }
+        if (jackpotSymbol < -1 || jackpotSymbol >= symbolCount) {
+            throw new IllegalArgumentException("Invalid jackpot symbol: " + jackpotSymbol);
+        }
+        this.columns = columns;
+        this.symbolCount = symbolCount;
+        this.jackpotSymbol = jackpotSymbol;
+        this.multipliers = new int[symbolCount][columns + 1];
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int[] row = multipliers[symbol];
+            for (int run = 0; run < row.length && run <= columns; run++) {
+                if (row[run] < 0) {
+                    throw new IllegalArgumentException("Negative multiplier for symbol " + symbol + ": " + row[run]);
+                }
+                this.multipliers[symbol][run] = row[run];
+            }
+        }
+
+        int k = 0;
+        long size = 1;
+        while (k < columns && size * symbolCount <= MAX_TABLE_SIZE) {
+            size *= symbolCount;
+            k++;
+        }
+        this.tableColumns = k;
+        this.table = buildTable(k, (int) size);
+    }
+
+    // Платят только полные линии. Множители целые, поэтому RTP подбирается не выше целевого
+    // и как можно ближе к нему: сначала каждый символ получает равную долю rtp с округлением
+    // вниз, затем остаток бюджета раздаётся символам от самой частой линии к самой редкой.
+    // Символ, чья линия выпадает чаще rtp, может остаться с нулём; если так со всеми
+    // (например, один символ), таблица ничего не платит — см. paysAnything
+    public static Paytable forTargetRtp(ReelWeights weights, double rtp) {
+        return forTargetRtp(weights, rtp, null);
+    }
+
+    // Линия джекпота — самая редкая полная линия, при равных вероятностях (равные веса) —
+    // символ с наибольшим номером. Джекпот разыгрывается, только если она выпадает не чаще
+    // ProgressiveJackpot.MAX_HIT_PROBABILITY, иначе стартовая сумма уходила бы за несколько спинов.
+    // Тогда линиям остаётся rtp за вычетом доли взносов: при частоте выигрыша p между выигрышами
+    // копится в среднем rate / p ставки, и на спин джекпот возвращает p * rate / p = rate
+    public static Paytable forTargetRtp(ReelWeights weights, double rtp, ProgressiveJackpot jackpot) {
+        int jackpotSymbol = -1;
+        if (jackpot != null && weights.getColumns() >= 2) {
+            double[] p = lineProbabilities(weights);
+            for (int symbol = 0; symbol < p.length; symbol++) {
+                if (p[symbol] > 0 && (jackpotSymbol < 0 || p[symbol] <= p[jackpotSymbol])) {
+                    jackpotSymbol = symbol;
+                }
+            }
+            if (jackpotSymbol >= 0 && p[jackpotSymbol] > ProgressiveJackpot.MAX_HIT_PROBABILITY) {
+                jackpotSymbol = -1;
+            }
+        }
+        double lineRtp = jackpotSymbol < 0 ? rtp : rtp - jackpot.getContributionRate();
+        return new Paytable(weights.getColumns(), weights.getSymbolCount(0),
+            targetRtpMultipliers(weights, lineRtp), jackpotSymbol);
+    }
+
+    // Те же множители без построения таблицы — для перебора конфигураций, где нужны только выплаты за линию
+    static int[][] targetRtpMultipliers(ReelWeights weights, double rtp) {
+        int columns = weights.getColumns();
+        int symbols = weights.getSymbolCount(0);
+        int[][] multipliers = new int[symbols][columns + 1];
+        if (columns < 2) {
+            return multipliers;
+        }
+        double[] p = lineProbabilities(weights);
+        double budget = rtp;
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            if (p[symbol] > 0) {
+                multipliers[symbol][columns] = clamp(Math.floor(rtp / (symbols * p[symbol])));
+                budget -= multipliers[symbol][columns] * p[symbol];
+            }
+        }
+        Integer[] byProbability = new Integer[symbols];
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            byProbability[symbol] = symbol;
+        }
+        Arrays.sort(byProbability, (a, b) -> Double.compare(p[b], p[a]));
+        for (int symbol : byProbability) {
+            if (p[symbol] <= 0 || budget < p[symbol]) {
+                continue;
+            }
+            int extra = Math.min(clamp(Math.floor(budget / p[symbol])), Integer.MAX_VALUE - multipliers[symbol][columns]);
+            multipliers[symbol][columns] += extra;
+            budget -= extra * p[symbol];
+        }
+        return multipliers;
+    }
+
+    // Вероятность полной линии каждого символа
+    static double[] lineProbabilities(ReelWeights weights) {
+        double[] p = new double[weights.getSymbolCount(0)];
+        for (int symbol = 0; symbol < p.length; symbol++) {
+            p[symbol] = 1;
+            for (int col = 0; col < weights.getColumns(); col++) {
+                p[symbol] *= weights.probability(col, symbol);
+            }
+        }
+        return p;
+    }
+
+    private static int clamp(double multiplier) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, multiplier));
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    public int getMultiplier(int symbol, int run) {
+        return multipliers[symbol][run];
+    }
+
+    public boolean hasJackpot() {
+        return jackpotSymbol >= 0;
+    }
+
+    // -1, если джекпот не разыгрывается
+    public int getJackpotSymbol() {
+        return jackpotSymbol;
+    }
+
+    public boolean isJackpotLine(SpinResult result) {
+        return jackpotSymbol >= 0 && result.isWin() && result.getStop(0) == jackpotSymbol;
+    }
+
+    // false — ни одна линия не платит, например один символ: выигрыш на каждом спине
+    // не уложился бы ни в какой RTP ниже 1
+    public boolean paysAnything() {
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            for (int run = 0; run <= columns; run++) {
+                if (multipliers[symbol][run] > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Выплаты за полную линию — в том виде, в каком их ждёт ProbabilityModel
+    public double[] getLinePays() {
+        double[] pays = new double[symbolCount];
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            pays[symbol] = multipliers[symbol][columns];
+        }
+        return pays;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Paytable)) {
+            return false;
+        }
+        Paytable other = (Paytable) o;
+        return columns == other.columns && symbolCount == other.symbolCount && jackpotSymbol == other.jackpotSymbol
+            && Arrays.deepEquals(multipliers, other.multipliers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * columns + symbolCount) + jackpotSymbol) + Arrays.deepHashCode(multipliers);
+    }
+
+    public int encode(int[] stops) {
+        int code = 0;
+        for (int col = tableColumns - 1; col >= 0; col--) {
+            code = code * symbolCount + stops[col];
+        }
+        return code;
+    }
+
+    // Множитель ставки для остановок stops
+    public int payout(int[] stops) {
+        int entry = table[encode(stops)];
+        if (tableColumns == columns) {
+            return entry;
+        }
+        int run = entry >>> 8;
+        int symbol = entry & 0xFF;
+        if (run == tableColumns) {
+            while (run < columns && stops[run] == symbol) {
+                run++;
+            }
+        }
+        return multipliers[symbol][run];
+    }
+
+    private int[] buildTable(int k, int size) {
+        int[] result = new int[size];
+        int[] stops = new int[k];
+        for (int code = 0; code < size; code++) {
+            int rest = code;
+            for (int col = 0; col < k; col++) {
+                stops[col] = rest % symbolCount;
+                rest /= symbolCount;
+            }
+            int symbol = stops[0];
+            int run = 1;
+            while (run < k && stops[run] == symbol) {
+                run++;
+            }
+            result[code] = k == columns ? multipliers[symbol][run] : (run << 8) | symbol;
+        }
+        return result;
+    }
+}
@@ -2,4 +2,6 @@ package dynamic.casino;
 
 public interface ProbabilityCalculator {
     double calculateWinProbability(int columns, int rows, int symbolCount);
+
+    double calculateWinProbability(int columns, int rows, ReelWeights weights);
 }
@@ -0,0 +1,124 @@
+package dynamic.casino;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Точный расчёт динамическим программированием по барабанам вместо перебора всех остановок.
+// Состояние после очередного барабана — для каждой линии код: 0 — линия ещё не началась,
+// 1 — уже разорвана, s + 2 — пока собирается из символа s. Состояний не больше
+// (symbols + 2)^lines, и обычно их единицы, так что 10 барабанов считаются за миллисекунды.
+public class ProbabilityEngine {
+    private static final int NOT_STARTED = 0;
+    private static final int BROKEN = 1;
+
+    private final Map<ProbabilityModel, ProbabilityReport> cache = new ConcurrentHashMap<>();
+
+    public ProbabilityReport evaluate(ProbabilityModel model) {
+        ProbabilityReport cached = cache.get(model);
+        if (cached != null) {
+            return cached;
+        }
+        ProbabilityReport report = compute(model);
+        cache.putIfAbsent(model, report);
+        return report;
+    }
+
+    public int cacheSize() {
+        return cache.size();
+    }
+
+    private ProbabilityReport compute(ProbabilityModel model) {
+        List<Payline> lines = model.getLines();
+        int lineCount = lines.size();
+        int bits = 64 - Long.numberOfLeadingZeros(model.getSymbolCount() + 1L);
+        if ((long) bits * lineCount > 63) {
+            throw new IllegalArgumentException("Too many paylines for exact evaluation: " + lineCount);
+        }
+        long codeMask = (1L << bits) - 1;
+
+        Map<Long, Double> states = new HashMap<>();
+        states.put(0L, 1.0);
+
+        for (int reel = 0; reel < model.getColumns(); reel++) {
+            Map<Long, Double> outcomes = reelOutcomes(model, reel, bits);
+            Map<Long, Double> next = new HashMap<>();
+            for (Map.Entry<Long, Double> state : states.entrySet()) {
+                long code = state.getKey();
+                double p = state.getValue();
+                for (Map.Entry<Long, Double> outcome : outcomes.entrySet()) {
+                    long merged = transition(code, outcome.getKey(), lineCount, bits, codeMask);
+                    next.merge(merged, p * outcome.getValue(), Double::sum);
+                }
+            }
+            states = next;
+        }
+
+        double win = 0;
+        double hit = 0;
+        double expectedPayout = 0;
+        for (Map.Entry<Long, Double> state : states.entrySet()) {
+            long code = state.getKey();
+            double p = state.getValue();
+            boolean anyLine = false;
+            double payout = 0;
+            for (int line = 0; line < lineCount; line++) {
+                int lineCode = (int) ((code >>> (line * bits)) & codeMask);
+                if (lineCode > BROKEN && lines.get(line).getReelCount() >= 2) {
+                    anyLine = true;
+                    payout += model.getSymbolPay(lineCode - 2);
+                }
+            }
+            if (anyLine) {
+                win += p;
+            }
+            if (payout > 0) {
+                hit += p;
+            }
+            expectedPayout += p * payout;
+        }
+        return new ProbabilityReport(win, hit, expectedPayout, expectedPayout / lineCount);
+    }
+
+    // Остановки барабана, сгруппированные по тому, какие символы они дают каждой линии
+    private static Map<Long, Double> reelOutcomes(ProbabilityModel model, int reel, int bits) {
+        WeightedReel strip = model.getReels().get(reel);
+        List<Payline> lines = model.getLines();
+        Map<Long, Double> outcomes = new HashMap<>();
+        for (int stop = 0; stop < strip.size(); stop++) {
+            double p = strip.stopProbability(stop);
+            if (p == 0) {
+                continue;
+            }
+            long code = 0;
+            for (int line = 0; line < lines.size(); line++) {
+                int row = lines.get(line).rowOn(reel);
+                if (row != Payline.NONE) {
+                    code |= (long) (strip.symbolAt(stop, row) + 2) << (line * bits);
+                }
+            }
+            outcomes.merge(code, p, Double::sum);
+        }
+        return outcomes;
+    }
+
+    private static long transition(long state, long outcome, int lineCount, int bits, long codeMask) {
+        long result = 0;
+        for (int line = 0; line < lineCount; line++) {
+            int shift = line * bits;
+            long current = (state >>> shift) & codeMask;
+            long symbol = (outcome >>> shift) & codeMask;
+            long merged;
+            if (symbol == NOT_STARTED || current == BROKEN) {
+                merged = current;
+            } else if (current == NOT_STARTED || current == symbol) {
+                merged = symbol;
+            } else {
+                merged = BROKEN;
+            }
+            result |= merged << shift;
+        }
+        return result;
+    }
+}
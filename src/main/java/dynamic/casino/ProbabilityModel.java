@@ -0,0 +1,105 @@
+package dynamic.casino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Конфигурация для точного расчёта: ленты барабанов, высота окна, линии и выплаты.
+// symbolPays[s] — множитель ставки на линию за линию из символа s.
+// Неизменяемая, поэтому служит ключом кэша результатов.
+public class ProbabilityModel {
+    private final List<WeightedReel> reels;
+    private final int windowRows;
+    private final List<Payline> lines;
+    private final double[] symbolPays;
+    private final int symbolCount;
+
+    public ProbabilityModel(List<WeightedReel> reels, int windowRows, List<Payline> lines, double[] symbolPays) {
+        if (reels.isEmpty() || windowRows <= 0 || lines.isEmpty()) {
+            throw new IllegalArgumentException("Model needs reels, a window and at least one payline");
+        }
+        int symbols = 0;
+        for (WeightedReel reel : reels) {
+            symbols = Math.max(symbols, reel.getSymbolCount());
+        }
+        for (Payline line : lines) {
+            if (line.getColumns() != reels.size()) {
+                throw new IllegalArgumentException("Payline " + line + " does not match " + reels.size() + " reels");
+            }
+            for (int reel = 0; reel < reels.size(); reel++) {
+                if (line.rowOn(reel) >= windowRows) {
+                    throw new IllegalArgumentException("Payline " + line + " is outside a " + windowRows + "-row window");
+                }
+            }
+        }
+        if (symbolPays.length < symbols) {
+            throw new IllegalArgumentException("Pays are missing for some symbols: " + symbolPays.length + " < " + symbols);
+        }
+        this.reels = Collections.unmodifiableList(new ArrayList<>(reels));
+        this.windowRows = windowRows;
+        this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+        this.symbolPays = symbolPays.clone();
+        this.symbolCount = symbols;
+    }
+
+    // Модель текущей игры: равновероятные символы, видим один ряд, линии по правилу checkWin
+    public static ProbabilityModel uniform(int columns, int symbolCount) {
+        return withReels(Collections.nCopies(columns, WeightedReel.uniform(symbolCount)));
+    }
+
+    public static ProbabilityModel withReels(List<WeightedReel> reels) {
+        int symbols = 0;
+        for (WeightedReel reel : reels) {
+            symbols = Math.max(symbols, reel.getSymbolCount());
+        }
+        double[] pays = new double[symbols];
+        Arrays.fill(pays, 1);
+        return new ProbabilityModel(reels, 1, ReelLayout.gameLines(reels.size()), pays);
+    }
+
+    public List<WeightedReel> getReels() {
+        return reels;
+    }
+
+    public int getColumns() {
+        return reels.size();
+    }
+
+    public int getWindowRows() {
+        return windowRows;
+    }
+
+    public List<Payline> getLines() {
+        return lines;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    public double getSymbolPay(int symbol) {
+        return symbolPays[symbol];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProbabilityModel)) {
+            return false;
+        }
+        ProbabilityModel other = (ProbabilityModel) o;
+        return windowRows == other.windowRows && reels.equals(other.reels)
+            && lines.equals(other.lines) && Arrays.equals(symbolPays, other.symbolPays);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = reels.hashCode();
+        result = 31 * result + windowRows;
+        result = 31 * result + lines.hashCode();
+        return 31 * result + Arrays.hashCode(symbolPays);
+    }
+}
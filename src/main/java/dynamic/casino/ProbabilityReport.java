@@ -0,0 +1,40 @@
+package dynamic.casino;
+
+public class ProbabilityReport {
+    private final double winProbability;
+    private final double hitFrequency;
+    private final double expectedPayout;
+    private final double rtp;
+
+    public ProbabilityReport(double winProbability, double hitFrequency, double expectedPayout, double rtp) {
+        this.winProbability = winProbability;
+        this.hitFrequency = hitFrequency;
+        this.expectedPayout = expectedPayout;
+        this.rtp = rtp;
+    }
+
+    // Хотя бы одна линия собрана
+    public double getWinProbability() {
+        return winProbability;
+    }
+
+    // Спин с ненулевой выплатой
+    public double getHitFrequency() {
+        return hitFrequency;
+    }
+
+    // Ожидаемая выплата за спин в ставках на линию
+    public double getExpectedPayout() {
+        return expectedPayout;
+    }
+
+    // Доля ставки, возвращаемая игроку
+    public double getRtp() {
+        return rtp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("win=%.8f hit=%.8f rtp=%.6f", winProbability, hitFrequency, rtp);
+    }
+}
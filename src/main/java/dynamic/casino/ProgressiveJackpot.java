@@ -0,0 +1,140 @@
+package dynamic.casino;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Прогрессивный джекпот, общий для всех сессий. Взносы копятся в тысячных долях кредита
+// в полосах AtomicLongArray: поток пишет в свою полосу, полосы разнесены на 128 байт,
+// так что сессии не делят ни замок, ни строку кэша. Выплата под отдельным замком забирает
+// каждую полосу через getAndSet(0): каждый взнос уходит ровно одному победителю,
+// а взносы во время выплаты попадают уже в следующий джекпот.
+// Начальную сумму казино вносит один раз на процесс (shared). Резерв копится отдельной долей
+// ставки и при выплате целиком переходит в следующий джекпот, так что каждый взнос рано
+// или поздно выигрывают и в долгую джекпот возвращает игрокам ровно долю взносов
+// (getContributionRate) — её вычитают из целевого RTP таблицы выплат.
+public class ProgressiveJackpot {
+    public static final long MILLIS_PER_CREDIT = 1000;
+    public static final long DEFAULT_SEED = 1000;
+    public static final double DEFAULT_POOL_RATE = 0.01;
+    public static final double DEFAULT_RESERVE_RATE = 0.005;
+    // Линия джекпота должна выпадать не чаще раза в 10 000 спинов (см. Paytable.forTargetRtp)
+    public static final double MAX_HIT_PROBABILITY = 1e-4;
+    private static final int STRIDE = 16; // 16 long = 128 байт: соседняя строка тоже не делится
+    private static final int RESERVE = 1; // Взносы в резерв лежат в той же полосе следующим long
+
+    private final long poolPerMille;
+    private final long reservePerMille;
+    private final int mask;
+    private final AtomicLongArray stripes;
+    private final Object payoutLock = new Object();
+    private volatile long baseMillis; // С чего начался текущий джекпот
+    private long reserveMillis; // Собранный резерв, под payoutLock
+    private long payouts;
+
+    private static final class Shared {
+        static final ProgressiveJackpot INSTANCE = new ProgressiveJackpot();
+    }
+
+    // Один джекпот на процесс: окна и сервер делят пул, а начальную сумму казино вносит однажды
+    public static ProgressiveJackpot shared() {
+        return Shared.INSTANCE;
+    }
+
+    public ProgressiveJackpot() {
+        this(DEFAULT_SEED, DEFAULT_POOL_RATE, DEFAULT_RESERVE_RATE);
+    }
+
+    // poolRate и reserveRate — доли ставки в текущий джекпот и в резерв следующих,
+    // с точностью до 0.1%
+    public ProgressiveJackpot(long seedCredits, double poolRate, double reserveRate) {
+        this(seedCredits, poolRate, reserveRate, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public ProgressiveJackpot(long seedCredits, double poolRate, double reserveRate, int minStripes) {
+        if (seedCredits < 0) {
+            throw new IllegalArgumentException("Seed must not be negative: " + seedCredits);
+        }
+        if (!(poolRate >= 0 && reserveRate >= 0 && poolRate + reserveRate < 1)) {
+            throw new IllegalArgumentException("Contribution rates must be non-negative and sum below 1: "
+                + poolRate + ", " + reserveRate);
+        }
+        int count = Integer.highestOneBit(Math.max(1, minStripes - 1)) << 1;
+        this.baseMillis = seedCredits * MILLIS_PER_CREDIT;
+        this.poolPerMille = Math.round(poolRate * MILLIS_PER_CREDIT);
+        this.reservePerMille = Math.round(reserveRate * MILLIS_PER_CREDIT);
+        this.mask = count - 1;
+        this.stripes = new AtomicLongArray(count * STRIDE);
+    }
+
+    public void contribute(long bet) {
+        int index = stripe() * STRIDE;
+        stripes.getAndAdd(index, bet * poolPerMille);
+        if (reservePerMille != 0) {
+            stripes.getAndAdd(index + RESERVE, bet * reservePerMille);
+        }
+    }
+
+    // Выплачивает весь джекпот целыми кредитами; следующий начинается со всего резерва:
+    // до начальной суммы это его стартовая сумма, сверх неё — взносы, которые иначе
+    // никогда бы не вернулись игрокам. Дробный остаток остаётся в пуле.
+    public long payout() {
+        synchronized (payoutLock) {
+            long collected = 0;
+            for (int i = 0; i <= mask; i++) {
+                collected += stripes.getAndSet(i * STRIDE, 0);
+                reserveMillis += stripes.getAndSet(i * STRIDE + RESERVE, 0);
+            }
+            long total = baseMillis + collected;
+            long credits = total / MILLIS_PER_CREDIT;
+            long remainder = total - credits * MILLIS_PER_CREDIT;
+            baseMillis = reserveMillis + remainder;
+            reserveMillis = 0;
+            payouts++;
+            return credits;
+        }
+    }
+
+    // Доля ставки, которую джекпот в долгую возвращает игрокам
+    public double getContributionRate() {
+        return (double) (poolPerMille + reservePerMille) / MILLIS_PER_CREDIT;
+    }
+
+    // Снимок без блокировки; под нагрузкой может отставать на взносы, идущие прямо сейчас
+    public long getPool() {
+        return getPoolMillis() / MILLIS_PER_CREDIT;
+    }
+
+    // Резерв в тысячных долях кредита, включая ещё не собранные взносы
+    public long getReserveMillis() {
+        synchronized (payoutLock) {
+            return reserveMillis + collectedMillis(RESERVE);
+        }
+    }
+
+    // Текущий джекпот в тысячных долях кредита
+    public long getPoolMillis() {
+        return baseMillis + collectedMillis(0);
+    }
+
+    public long getPayouts() {
+        synchronized (payoutLock) {
+            return payouts;
+        }
+    }
+
+    public int getStripeCount() {
+        return mask + 1;
+    }
+
+    private long collectedMillis(int slot) {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += stripes.get(i * STRIDE + slot);
+        }
+        return sum;
+    }
+
+    // Полоса по id потока, перемешанному как в SplitMix64, чтобы соседние id не шли подряд
+    private int stripe() {
+        return (int) SplitMix64Generator.mix64(Thread.currentThread().getId()) & mask;
+    }
+}
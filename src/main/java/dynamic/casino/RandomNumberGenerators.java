@@ -0,0 +1,29 @@
+package dynamic.casino;
+
+// Генераторы по имени — для консольного режима и настроек
+public final class RandomNumberGenerators {
+    private RandomNumberGenerators() {
+    }
+
+    public static RandomNumberGenerator create(String name, long seed) {
+        switch (name) {
+            case "default":
+                return new DefaultRandomGenerator();
+            case "splitmix64":
+                return new SplitMix64Generator(seed);
+            case "xoshiro256":
+                return new Xoshiro256StarStarGenerator(seed);
+            default:
+                throw new IllegalArgumentException("Unknown generator: " + name
+                    + " (expected default, splitmix64 or xoshiro256)");
+        }
+    }
+
+    public static SplittableRandomNumberGenerator createSplittable(String name, long seed) {
+        RandomNumberGenerator rng = create(name, seed);
+        if (!(rng instanceof SplittableRandomNumberGenerator)) {
+            throw new IllegalArgumentException("Generator is not seedable: " + name);
+        }
+        return (SplittableRandomNumberGenerator) rng;
+    }
+}
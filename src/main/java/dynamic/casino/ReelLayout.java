@@ -0,0 +1,39 @@
+package dynamic.casino;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Раскладка барабанов из createGameArea: до 5 колонок — один ряд,
+// больше — два ряда, в верхнем ceil(columns / 2) барабанов
+public final class ReelLayout {
+    public static final int MAX_COLUMNS_IN_ONE_ROW = 5;
+
+    private ReelLayout() {
+    }
+
+    public static int rows(int columns) {
+        return columns <= MAX_COLUMNS_IN_ONE_ROW ? 1 : 2;
+    }
+
+    public static int topRowColumns(int columns) {
+        return columns <= MAX_COLUMNS_IN_ONE_ROW ? columns : (columns + 1) / 2;
+    }
+
+    public static int bottomRowColumns(int columns) {
+        return columns - topRowColumns(columns);
+    }
+
+    // Правило checkWin: одна линия через верхние символы всех барабанов
+    public static List<Payline> gameLines(int columns) {
+        return List.of(Payline.across(columns, 0, columns, 0));
+    }
+
+    // Каждый ряд сетки — отдельная линия
+    public static List<Payline> gridRowLines(int columns) {
+        int top = topRowColumns(columns);
+        if (top == columns) {
+            return gameLines(columns);
+        }
+        return Arrays.asList(Payline.across(columns, 0, top, 0), Payline.across(columns, top, columns, 0));
+    }
+}
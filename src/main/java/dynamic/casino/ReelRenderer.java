@@ -0,0 +1,305 @@
+package dynamic.casino;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+// Все барабаны двигает один AnimationTimer. У каждого барабана фиксированное кольцо ImageView:
+// за кадр они только сдвигаются через translateY и при смене шага получают новый viewport
+// в общем атласе символов, узлы и анимации во время вращения не создаются, дерево сцены
+// не меняется. Все ImageView показывают одну текстуру ячейками размера cellSize, так что
+// отрисовка идёт без масштабирования и без переключения текстур.
+// При смене настроек барабаны не пересоздаются: лишние уходят в пул, недостающие берутся
+// из пула, а при смене атласа существующие ImageView получают новую текстуру.
+public class ReelRenderer {
+    private final ReelState state;
+    private final RandomNumberGenerator fillerRng;
+    private final double cellSize;
+    private final AnimationTimer timer;
+    private final Deque<Reel> pool = new ArrayDeque<>();
+    private SymbolAtlas atlas;
+    private int symbolCount;
+    private Reel[] reels;
+
+    private int spinningReels;
+    private boolean timerRunning;
+    private long lastPulse;
+
+    private static final class Reel {
+        Pane pane;
+        ImageView[] views;
+        int head; // индекс в views верхнего (видимого) символа
+        boolean spinning;
+        boolean stopRequested;
+        int stepsToLand; // 0 — барабан ещё не получил результат
+        int target;
+        long startAt;
+        long lastFrame;
+        long lastStep;
+        double stepNanos;
+        double offset;
+        CompletableFuture<Void> settled = CompletableFuture.completedFuture(null);
+    }
+
+    // Барабаны используют первые symbolCount ячеек атласа
+    public ReelRenderer(ReelState state, SymbolAtlas atlas, int symbolCount, RandomNumberGenerator fillerRng, double cellSize) {
+        checkSymbols(atlas, symbolCount);
+        if (state.getWindow() < 3) {
+            throw new IllegalArgumentException("Reels need a window of at least 3 cells to hide the result swap: "
+                + state.getWindow());
+        }
+        this.state = state;
+        this.atlas = atlas;
+        this.symbolCount = symbolCount;
+        this.fillerRng = fillerRng;
+        this.cellSize = cellSize;
+        this.reels = new Reel[state.getColumns()];
+        for (int col = 0; col < reels.length; col++) {
+            attachReel(col);
+        }
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onFrame(now);
+            }
+        };
+    }
+
+    private void attachReel(int col) {
+        Reel reel = pool.isEmpty() ? newReel() : pool.pop();
+        reel.head = 0;
+        reel.offset = 0;
+        for (int i = 0; i < reel.views.length; i++) {
+            int symbol = fillerRng.nextInt(symbolCount);
+            state.set(col, i, symbol);
+            show(reel.views[i], symbol);
+        }
+        position(reel);
+        reels[col] = reel;
+    }
+
+    public Pane getReel(int col) {
+        return reels[col] == null ? null : reels[col].pane;
+    }
+
+    public int getColumns() {
+        return state.getColumns();
+    }
+
+    // Меняет число барабанов, затрагивая только добавленные и убранные колонки.
+    // Вызывающий сам убирает getReel(col) убранных колонок из сцены до вызова.
+    public void setColumns(int columns) {
+        if (isSpinning()) {
+            throw new IllegalStateException("Reels are spinning");
+        }
+        int before = state.getColumns();
+        for (int col = columns; col < before; col++) {
+            pool.push(reels[col]);
+            reels[col] = null;
+        }
+        state.resize(columns);
+        if (reels.length < columns) {
+            reels = Arrays.copyOf(reels, columns);
+        }
+        for (int col = before; col < columns; col++) {
+            attachReel(col);
+        }
+    }
+
+    public SymbolAtlas getAtlas() {
+        return atlas;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    // Новый атлас или число символов: ImageView остаются на месте, символы за пределами
+    // набора заменяются случайными
+    public void setSymbols(SymbolAtlas atlas, int symbolCount) {
+        if (isSpinning()) {
+            throw new IllegalStateException("Reels are spinning");
+        }
+        checkSymbols(atlas, symbolCount);
+        this.atlas = atlas;
+        this.symbolCount = symbolCount;
+        int window = state.getWindow();
+        for (int col = 0; col < state.getColumns(); col++) {
+            Reel reel = reels[col];
+            for (int i = 0; i < window; i++) {
+                int symbol = state.get(col, i);
+                if (symbol >= symbolCount) {
+                    symbol = fillerRng.nextInt(symbolCount);
+                    state.set(col, i, symbol);
+                }
+                show(reel.views[(reel.head + i) % window], symbol);
+            }
+        }
+        for (Reel pooled : pool) {
+            for (ImageView view : pooled.views) {
+                view.setImage(atlas.getImage());
+            }
+        }
+    }
+
+    // Future завершается в потоке FX ровно в тот кадр, когда барабан встал на результат
+    public CompletableFuture<Void> start(int col, long stepDurationMs, long delayMs) {
+        Reel reel = reels[col];
+        if (reel == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (reel.spinning) {
+            return reel.settled;
+        }
+        reel.spinning = true;
+        reel.stopRequested = false;
+        reel.stepsToLand = 0;
+        reel.offset = 0;
+        reel.stepNanos = Math.max(1, stepDurationMs) * 1_000_000.0;
+        reel.startAt = System.nanoTime() + delayMs * 1_000_000L;
+        reel.lastFrame = reel.startAt;
+        reel.lastStep = reel.startAt;
+        reel.settled = new CompletableFuture<>();
+        spinningReels++;
+        if (!timerRunning) {
+            timerRunning = true;
+            timer.start();
+        }
+        return reel.settled;
+    }
+
+    // Барабан доезжает текущий шаг и ещё window - 1 шагов, на последнем наверх приходит target
+    public void requestStop(int col, int target) {
+        Reel reel = reels[col];
+        if (reel == null || !reel.spinning) {
+            return;
+        }
+        reel.stopRequested = true;
+        reel.target = target;
+    }
+
+    public boolean isSpinning() {
+        return spinningReels > 0;
+    }
+
+    // Незавершённые барабаны отпускаем, чтобы ожидающие не зависли навсегда
+    public void dispose() {
+        timer.stop();
+        timerRunning = false;
+        lastPulse = 0;
+        for (Reel reel : reels) {
+            if (reel != null && reel.spinning) {
+                reel.spinning = false;
+                reel.settled.complete(null);
+            }
+        }
+        spinningReels = 0;
+    }
+
+    private void onFrame(long now) {
+        long workStart = Metrics.ENABLED ? System.nanoTime() : 0;
+        for (int col = 0; col < reels.length; col++) {
+            Reel reel = reels[col];
+            if (reel == null || !reel.spinning || now < reel.startAt) {
+                continue;
+            }
+            reel.offset += (now - reel.lastFrame) / reel.stepNanos * cellSize;
+            reel.lastFrame = now;
+            while (reel.spinning && reel.offset >= cellSize) {
+                reel.offset -= cellSize;
+                if (Metrics.ENABLED) {
+                    // Шаг заканчивается только на кадре, поэтому отклонение не меньше доли интервала кадров.
+                    // Отсчёт от расчётного конца шага, а не от кадра: иначе при нескольких шагах
+                    // за кадр каждый следующий получал бы отклонение в целый шаг
+                    long due = reel.lastStep + (long) reel.stepNanos;
+                    Metrics.step(now - due);
+                    reel.lastStep = due;
+                }
+                step(col, reel);
+            }
+            position(reel);
+        }
+        if (Metrics.ENABLED) {
+            Metrics.frame(lastPulse == 0 ? 0 : now - lastPulse, System.nanoTime() - workStart);
+            lastPulse = now;
+        }
+        if (spinningReels == 0) {
+            timer.stop();
+            timerRunning = false;
+            lastPulse = 0;
+        }
+    }
+
+    private void step(int col, Reel reel) {
+        int window = reel.views.length;
+
+        // Верхний символ уходит вниз кольца с новой случайной текстурой
+        int newIndex = fillerRng.nextInt(symbolCount);
+        show(reel.views[reel.head], newIndex);
+        state.rotate(col, newIndex);
+        reel.head = (reel.head + 1) % window;
+
+        if (reel.stepsToLand > 0) {
+            if (--reel.stepsToLand == 0) {
+                reel.spinning = false;
+                reel.offset = 0;
+                spinningReels--;
+                reel.settled.complete(null);
+            }
+        } else if (reel.stopRequested) {
+            // Результат подменяет символ в нижней ячейке кольца: её верх на (window - 1) * cellSize - offset,
+            // то есть за границей клипа при любом остатке offset. Вторая ячейка (cellSize - offset)
+            // могла бы быть видна, поэтому до неё результат доезжает сам, и барабан встаёт
+            // через window - 1 шагов
+            int row = window - 1;
+            show(reel.views[(reel.head + row) % window], reel.target);
+            state.set(col, row, reel.target);
+            reel.stepsToLand = row;
+        }
+    }
+
+    private Reel newReel() {
+        Reel reel = new Reel();
+        reel.pane = new Pane();
+        reel.pane.setPrefSize(cellSize, cellSize);
+        reel.pane.setMinSize(cellSize, cellSize);
+        reel.pane.setMaxSize(cellSize, cellSize);
+        reel.pane.setClip(new Rectangle(cellSize, cellSize));
+        reel.views = new ImageView[state.getWindow()];
+        for (int i = 0; i < reel.views.length; i++) {
+            ImageView view = new ImageView(atlas.getImage());
+            view.setFitWidth(cellSize);
+            view.setFitHeight(cellSize);
+            view.setPreserveRatio(false);
+            reel.views[i] = view;
+        }
+        reel.pane.getChildren().addAll(reel.views);
+        return reel;
+    }
+
+    private void show(ImageView view, int symbol) {
+        if (view.getImage() != atlas.getImage()) {
+            view.setImage(atlas.getImage());
+        }
+        view.setViewport(atlas.getViewport(symbol));
+    }
+
+    private static void checkSymbols(SymbolAtlas atlas, int symbolCount) {
+        if (symbolCount <= 0 || symbolCount > atlas.getSymbolCount()) {
+            throw new IllegalArgumentException("Atlas has " + atlas.getSymbolCount() + " symbols, requested " + symbolCount);
+        }
+    }
+
+    private void position(Reel reel) {
+        int window = reel.views.length;
+        for (int i = 0; i < window; i++) {
+            reel.views[(reel.head + i) % window].setTranslateY(i * cellSize - reel.offset);
+        }
+    }
+}
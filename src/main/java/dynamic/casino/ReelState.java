@@ -0,0 +1,88 @@
+package dynamic.casino;
+
+import java.util.Arrays;
+
+// Индексы символов на барабанах без упаковки в Integer: плоский массив columns * window,
+// у каждой колонки своё кольцо со смещением головы. Прокрутка на шаг — O(1).
+public class ReelState {
+    private int columns;
+    private final int window;
+    private int[] cells;
+    private int[] heads;
+
+    public ReelState(int columns, int window) {
+        if (columns < 0 || window <= 0) {
+            throw new IllegalArgumentException("Invalid reel state size: " + columns + "x" + window);
+        }
+        this.columns = columns;
+        this.window = window;
+        this.cells = new int[columns * window];
+        this.heads = new int[columns];
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    // Колонки данных лежат подряд, поэтому оставшиеся сохраняются как есть; новые заполнены нулями
+    public void resize(int columns) {
+        if (columns < 0) {
+            throw new IllegalArgumentException("Invalid reel state size: " + columns + "x" + window);
+        }
+        cells = Arrays.copyOf(cells, columns * window);
+        heads = Arrays.copyOf(heads, columns);
+        this.columns = columns;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    // pos = 0 — верхний (видимый) символ, дальше — те, что идут за ним
+    public int get(int col, int pos) {
+        return cells[offset(col, pos)];
+    }
+
+    public void set(int col, int pos, int symbol) {
+        cells[offset(col, pos)] = symbol;
+    }
+
+    public int top(int col) {
+        return cells[col * window + heads[col]];
+    }
+
+    // Верхний символ уходит, его ячейка становится последней и получает newSymbol
+    public void rotate(int col, int newSymbol) {
+        int head = heads[col];
+        cells[col * window + head] = newSymbol;
+        heads[col] = head + 1 == window ? 0 : head + 1;
+    }
+
+    // Правило checkWin: все верхние символы совпадают, одна колонка не выигрывает
+    public boolean isTopRowWin() {
+        if (columns < 2) {
+            return false;
+        }
+        int first = top(0);
+        for (int col = 1; col < columns; col++) {
+            if (top(col) != first) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void copyTopRow(int[] target) {
+        for (int col = 0; col < columns; col++) {
+            target[col] = top(col);
+        }
+    }
+
+    private int offset(int col, int pos) {
+        int index = heads[col] + pos;
+        if (index >= window) {
+            index -= window;
+        }
+        return col * window + index;
+    }
+}
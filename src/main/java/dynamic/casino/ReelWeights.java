@@ -0,0 +1,149 @@
+package dynamic.casino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Веса символов для каждого барабана. Формат настройки: "1,1,2" — одни веса на все барабаны,
+// "1,1,2;2,1,1;1,1,1" — по группе на барабан. Недостающие веса считаются равными 1,
+// лишние (если символов меньше) отбрасываются.
+public class ReelWeights {
+    private final double[][] weights;
+    private final AliasTable[] aliasTables;
+    private final boolean uniform;
+
+    public ReelWeights(double[][] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("At least one reel is required");
+        }
+        this.weights = new double[weights.length][];
+        this.aliasTables = new AliasTable[weights.length];
+        boolean allEqual = true;
+        for (int reel = 0; reel < weights.length; reel++) {
+            this.weights[reel] = weights[reel].clone();
+            this.aliasTables[reel] = new AliasTable(weights[reel]);
+            for (double weight : weights[reel]) {
+                if (weight != weights[reel][0]) {
+                    allEqual = false;
+                }
+            }
+            if (weights[reel].length != weights[0].length) {
+                allEqual = false;
+            }
+        }
+        this.uniform = allEqual;
+    }
+
+    public static ReelWeights uniform(int columns, int symbolCount) {
+        double[][] weights = new double[columns][symbolCount];
+        for (double[] reel : weights) {
+            Arrays.fill(reel, 1);
+        }
+        return new ReelWeights(weights);
+    }
+
+    public static ReelWeights parse(String spec, int columns, int symbolCount) {
+        if (spec == null || spec.isBlank()) {
+            return uniform(columns, symbolCount);
+        }
+        String[] groups = spec.split(";");
+        if (groups.length != 1 && groups.length != columns) {
+            throw new IllegalArgumentException(
+                "Нужна одна группа весов или по группе на каждую колонку (" + columns + "), а задано " + groups.length);
+        }
+        double[][] weights = new double[columns][symbolCount];
+        for (int reel = 0; reel < columns; reel++) {
+            Arrays.fill(weights[reel], 1);
+            String[] values = groups[groups.length == 1 ? 0 : reel].split(",");
+            for (int symbol = 0; symbol < Math.min(values.length, symbolCount); symbol++) {
+                String value = values[symbol].trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                try {
+                    weights[reel][symbol] = Double.parseDouble(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Некорректный вес: " + value);
+                }
+                if (weights[reel][symbol] < 0) {
+                    throw new IllegalArgumentException("Вес не может быть отрицательным: " + value);
+                }
+            }
+        }
+        return new ReelWeights(weights);
+    }
+
+    public int getColumns() {
+        return weights.length;
+    }
+
+    public int getSymbolCount(int reel) {
+        return weights[reel].length;
+    }
+
+    // Все символы на всех барабанах равновероятны — можно выбирать обычным nextInt
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    public double probability(int reel, int symbol) {
+        double total = 0;
+        for (double weight : weights[reel]) {
+            total += weight;
+        }
+        return symbol < weights[reel].length ? weights[reel][symbol] / total : 0;
+    }
+
+    // Те же вероятности с весами, сведёнными к сумме 1 на барабан: "3" и "0.5" при одном
+    // символе или "2,2" и "1,1" дают равные объекты
+    public ReelWeights normalized() {
+        double[][] probabilities = new double[weights.length][];
+        for (int reel = 0; reel < weights.length; reel++) {
+            probabilities[reel] = new double[weights[reel].length];
+            for (int symbol = 0; symbol < weights[reel].length; symbol++) {
+                probabilities[reel][symbol] = probability(reel, symbol);
+            }
+        }
+        return new ReelWeights(probabilities);
+    }
+
+    public int sample(int reel, RandomNumberGenerator rng) {
+        return aliasTables[reel].sample(rng);
+    }
+
+    public List<WeightedReel> toReels() {
+        List<WeightedReel> reels = new ArrayList<>(weights.length);
+        for (double[] reel : weights) {
+            reels.add(WeightedReel.ofSymbolWeights(reel));
+        }
+        return reels;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ReelWeights && Arrays.deepEquals(weights, ((ReelWeights) o).weights);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(weights);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int reel = 0; reel < weights.length; reel++) {
+            if (reel > 0) {
+                sb.append(';');
+            }
+            for (int symbol = 0; symbol < weights[reel].length; symbol++) {
+                if (symbol > 0) {
+                    sb.append(',');
+                }
+                double weight = weights[reel][symbol];
+                sb.append(weight == Math.rint(weight) ? String.valueOf((long) weight) : String.valueOf(weight));
+            }
+        }
+        return sb.toString();
+    }
+}
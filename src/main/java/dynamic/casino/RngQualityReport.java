@@ -0,0 +1,71 @@
+package dynamic.casino;
+
+import java.util.Collections;
+import java.util.List;
+
+public class RngQualityReport {
+    private final String generator;
+    private final long drawsPerBound;
+    private final long outOfRange;
+    private final double alpha;
+    private final List<RngTestResult> results;
+    private final long elapsedNanos;
+
+    public RngQualityReport(String generator, long drawsPerBound, long outOfRange, double alpha,
+                            List<RngTestResult> results, long elapsedNanos) {
+        this.generator = generator;
+        this.drawsPerBound = drawsPerBound;
+        this.outOfRange = outOfRange;
+        this.alpha = alpha;
+        this.results = Collections.unmodifiableList(results);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<RngTestResult> getResults() {
+        return results;
+    }
+
+    // Значения вне [0, bound) — провал без всякой статистики
+    public long getOutOfRange() {
+        return outOfRange;
+    }
+
+    public boolean isPassed() {
+        if (outOfRange > 0) {
+            return false;
+        }
+        for (RngTestResult result : results) {
+            if (!result.isPassed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getTotalDraws() {
+        return drawsPerBound * (RngQualitySuite.MAX_BOUND - RngQualitySuite.MIN_BOUND + 1);
+    }
+
+    public double getDrawsPerSecond() {
+        return elapsedNanos == 0 ? 0 : getTotalDraws() * 1e9 / elapsedNanos;
+    }
+
+    public String toReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("generator=%s draws=%d per bound, %d total%n",
+            generator, drawsPerBound, getTotalDraws()));
+        report.append(String.format("alpha per test=%.2e (family alpha / %d tests)%n", alpha, results.size()));
+        for (RngTestResult result : results) {
+            report.append(result).append(System.lineSeparator());
+        }
+        report.append(String.format("out of range=%d%n", outOfRange));
+        report.append(String.format("time=%.2fs  %.1fM draws/s%n", elapsedNanos / 1e9, getDrawsPerSecond() / 1e6));
+        report.append(isPassed() ? "PASS" : "FAIL");
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toReport();
+    }
+}
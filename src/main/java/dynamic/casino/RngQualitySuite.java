@@ -0,0 +1,244 @@
+package dynamic.casino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+// Потоковые статистические тесты nextInt(bound) для всех допустимых чисел символов.
+// Выборка делится на блоки, блоки считаются параллельно со своими счётчиками и затем
+// суммируются, поэтому память не зависит от числа выборок.
+// Тесты для каждого bound: частоты, пары (непересекающиеся), интервалы между нулями,
+// серии одинаковых значений и частоты по барабанам (выборка i попадает на барабан i % reels,
+// как в spinInto). Уровень значимости делится на число тестов (поправка Бонферрони).
+public class RngQualitySuite {
+    public static final int MIN_BOUND = 1;
+    public static final int MAX_BOUND = 8;
+    public static final double DEFAULT_ALPHA = 0.01;
+    public static final int DEFAULT_REELS = 5;
+    private static final int TESTS_PER_BOUND = 5;
+    private static final long CHUNK_SIZE = 1L << 22;
+    private static final int GAP_CELLS = 64;
+    private static final int RUN_CELLS = 32;
+
+    private final int reels;
+    private final double familyAlpha;
+
+    public RngQualitySuite() {
+        this(DEFAULT_REELS, DEFAULT_ALPHA);
+    }
+
+    public RngQualitySuite(int reels, double familyAlpha) {
+        if (reels <= 0) {
+            throw new IllegalArgumentException("reels must be positive: " + reels);
+        }
+        if (!(familyAlpha > 0 && familyAlpha < 1)) {
+            throw new IllegalArgumentException("alpha must be in (0, 1): " + familyAlpha);
+        }
+        this.reels = reels;
+        this.familyAlpha = familyAlpha;
+    }
+
+    // Генераторы из фабрики должны быть независимы (например, DefaultRandomGenerator)
+    public RngQualityReport run(String name, Supplier<RandomNumberGenerator> rngFactory, long drawsPerBound) {
+        return run(name, drawsPerBound, chunk -> rngFactory.get());
+    }
+
+    // Воспроизводимый режим: блок i получает i-й поток от split(), как в MonteCarloVerifier
+    public RngQualityReport run(String name, SplittableRandomNumberGenerator seedGenerator, long drawsPerBound) {
+        long chunks = chunkCount(drawsPerBound);
+        if (chunks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many draws for a seeded run: " + drawsPerBound);
+        }
+        RandomNumberGenerator[] streams = new RandomNumberGenerator[(int) chunks];
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = seedGenerator.split();
+        }
+        return run(name, drawsPerBound, chunk -> streams[(int) chunk]);
+    }
+
+    private RngQualityReport run(String name, long drawsPerBound, LongFunction<RandomNumberGenerator> streamForChunk) {
+        long chunks = chunkCount(drawsPerBound);
+        long start = System.nanoTime();
+
+        BoundStatistics[] total = LongStream.range(0, chunks)
+            .parallel()
+            .mapToObj(chunk -> {
+                long draws = Math.min(CHUNK_SIZE, drawsPerBound - chunk * CHUNK_SIZE);
+                RandomNumberGenerator rng = streamForChunk.apply(chunk);
+                BoundStatistics[] statistics = newStatistics();
+                for (BoundStatistics bound : statistics) {
+                    bound.consume(rng, draws);
+                }
+                return statistics;
+            })
+            .reduce(RngQualitySuite::merge)
+            .orElseGet(this::newStatistics);
+
+        long elapsed = System.nanoTime() - start;
+        double alpha = familyAlpha / (TESTS_PER_BOUND * (MAX_BOUND - MIN_BOUND + 1));
+        List<RngTestResult> results = new ArrayList<>();
+        long outOfRange = 0;
+        for (BoundStatistics bound : total) {
+            bound.evaluate(results, alpha);
+            outOfRange += bound.outOfRange;
+        }
+        return new RngQualityReport(name, drawsPerBound, outOfRange, alpha, results, elapsed);
+    }
+
+    private BoundStatistics[] newStatistics() {
+        BoundStatistics[] statistics = new BoundStatistics[MAX_BOUND - MIN_BOUND + 1];
+        for (int bound = MIN_BOUND; bound <= MAX_BOUND; bound++) {
+            statistics[bound - MIN_BOUND] = new BoundStatistics(bound, reels);
+        }
+        return statistics;
+    }
+
+    private static BoundStatistics[] merge(BoundStatistics[] left, BoundStatistics[] right) {
+        for (int i = 0; i < left.length; i++) {
+            left[i].add(right[i]);
+        }
+        return left;
+    }
+
+    private static long chunkCount(long draws) {
+        if (draws < 0) {
+            throw new IllegalArgumentException("draws must not be negative: " + draws);
+        }
+        return (draws + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    // Онлайн-счётчики одного bound; незаконченные серия и интервал в конце блока отбрасываются
+    private static final class BoundStatistics {
+        private final int bound;
+        private final int reels;
+        private final long[] frequency;
+        private final long[] pairs;
+        private final long[] gaps = new long[GAP_CELLS + 1];
+        private final long[] runs = new long[RUN_CELLS];
+        private final long[] reelFrequency;
+        private long draws;
+        private long outOfRange;
+
+        BoundStatistics(int bound, int reels) {
+            this.bound = bound;
+            this.reels = reels;
+            this.frequency = new long[bound];
+            this.pairs = new long[bound * bound];
+            this.reelFrequency = new long[reels * bound];
+        }
+
+        void consume(RandomNumberGenerator rng, long n) {
+            int reel = 0;
+            int pairFirst = -1;
+            int previous = -1;
+            int runLength = 0;
+            long gap = -1;
+            for (long i = 0; i < n; i++) {
+                int value = rng.nextInt(bound);
+                if (value < 0 || value >= bound) {
+                    outOfRange++;
+                    continue;
+                }
+                frequency[value]++;
+                reelFrequency[reel * bound + value]++;
+                if (++reel == reels) {
+                    reel = 0;
+                }
+                if (pairFirst < 0) {
+                    pairFirst = value;
+                } else {
+                    pairs[pairFirst * bound + value]++;
+                    pairFirst = -1;
+                }
+                if (value == previous) {
+                    runLength++;
+                } else {
+                    if (previous >= 0) {
+                        runs[Math.min(runLength, RUN_CELLS) - 1]++;
+                    }
+                    previous = value;
+                    runLength = 1;
+                }
+                if (value == 0) {
+                    if (gap >= 0) {
+                        gaps[(int) Math.min(gap, GAP_CELLS)]++;
+                    }
+                    gap = 0;
+                } else if (gap >= 0) {
+                    gap++;
+                }
+            }
+            draws += n;
+        }
+
+        void add(BoundStatistics other) {
+            addAll(frequency, other.frequency);
+            addAll(pairs, other.pairs);
+            addAll(gaps, other.gaps);
+            addAll(runs, other.runs);
+            addAll(reelFrequency, other.reelFrequency);
+            draws += other.draws;
+            outOfRange += other.outOfRange;
+        }
+
+        void evaluate(List<RngTestResult> results, double alpha) {
+            double p = 1.0 / bound;
+            double[] uniform = filled(bound, p);
+            results.add(new RngTestResult("frequency", bound, sum(frequency), ChiSquare.test(frequency, uniform), alpha));
+            results.add(new RngTestResult("serial", bound, sum(pairs),
+                ChiSquare.test(pairs, filled(bound * bound, p * p)), alpha));
+
+            // Интервал до следующего нуля распределён геометрически: P(g) = p(1-p)^g
+            double[] gapProbabilities = new double[GAP_CELLS + 1];
+            for (int g = 0; g < GAP_CELLS; g++) {
+                gapProbabilities[g] = p * Math.pow(1 - p, g);
+            }
+            gapProbabilities[GAP_CELLS] = Math.pow(1 - p, GAP_CELLS);
+            results.add(new RngTestResult("gap", bound, sum(gaps), ChiSquare.test(gaps, gapProbabilities), alpha));
+
+            // Длина серии одинаковых значений: P(L = k) = p^(k-1)(1-p)
+            double[] runProbabilities = new double[RUN_CELLS];
+            for (int k = 1; k < RUN_CELLS; k++) {
+                runProbabilities[k - 1] = Math.pow(p, k - 1) * (1 - p);
+            }
+            runProbabilities[RUN_CELLS - 1] = Math.pow(p, RUN_CELLS - 1);
+            results.add(new RngTestResult("runs", bound, sum(runs), ChiSquare.test(runs, runProbabilities), alpha));
+
+            // Барабаны независимы, поэтому их статистики складываются вместе со степенями свободы
+            double statistic = 0;
+            int degreesOfFreedom = 0;
+            long[] reelCounts = new long[bound];
+            for (int reel = 0; reel < reels; reel++) {
+                System.arraycopy(reelFrequency, reel * bound, reelCounts, 0, bound);
+                ChiSquare test = ChiSquare.test(reelCounts, uniform);
+                statistic += test.getStatistic();
+                degreesOfFreedom += test.getDegreesOfFreedom();
+            }
+            results.add(new RngTestResult("reels", bound, sum(reelFrequency),
+                ChiSquare.of(statistic, degreesOfFreedom), alpha));
+        }
+
+        private static void addAll(long[] target, long[] source) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] += source[i];
+            }
+        }
+
+        private static long sum(long[] values) {
+            long total = 0;
+            for (long value : values) {
+                total += value;
+            }
+            return total;
+        }
+
+        private static double[] filled(int length, double value) {
+            double[] result = new double[length];
+            Arrays.fill(result, value);
+            return result;
+        }
+    }
+}
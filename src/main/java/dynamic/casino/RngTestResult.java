@@ -0,0 +1,52 @@
+package dynamic.casino;
+
+// Итог одного статистического теста генератора
+public class RngTestResult {
+    private final String name;
+    private final int bound;
+    private final long samples;
+    private final ChiSquare chiSquare;
+    private final boolean passed;
+
+    public RngTestResult(String name, int bound, long samples, ChiSquare chiSquare, double alpha) {
+        this.name = name;
+        this.bound = bound;
+        this.samples = samples;
+        this.chiSquare = chiSquare;
+        this.passed = chiSquare.getPValue() >= alpha;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBound() {
+        return bound;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public double getStatistic() {
+        return chiSquare.getStatistic();
+    }
+
+    public int getDegreesOfFreedom() {
+        return chiSquare.getDegreesOfFreedom();
+    }
+
+    public double getPValue() {
+        return chiSquare.getPValue();
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("bound=%d %-10s samples=%-12d chi2=%-12.4f df=%-4d p=%.6f %s",
+            bound, name, samples, getStatistic(), getDegreesOfFreedom(), getPValue(), passed ? "OK" : "FAIL");
+    }
+}
@@ -0,0 +1,116 @@
+package dynamic.casino;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+// Настройки последней сессии в небольшом файле .properties рядом с images/ и journal/.
+// Значения вне допустимых диапазонов (файл правили руками) заменяются значениями по умолчанию.
+// Запись атомарная: временный файл и переименование, чтобы перезагрузка посреди записи
+// не оставила автомат с испорченными настройками.
+public class SessionSettings {
+    public static final String FILE_NAME = "casino.properties";
+
+    private int columns = 3;
+    private int symbolsToUse = 0; // 0 — все загруженные изображения
+    private double spinSpeed = 1.0;
+    private double simulationSpeed = 3.0;
+    private int bet = 1;
+    private String reelWeights = "";
+
+    public static SessionSettings load(Path file) {
+        SessionSettings settings = new SessionSettings();
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (NoSuchFileException e) {
+            return settings;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Настройки не прочитаны, используются значения по умолчанию: " + e.getMessage());
+            return settings;
+        }
+        settings.columns = intValue(properties, "columns", 1, 10, settings.columns);
+        settings.symbolsToUse = intValue(properties, "symbols", 0, 8, settings.symbolsToUse);
+        settings.spinSpeed = doubleValue(properties, "spinSpeed", 0.01, 10, settings.spinSpeed);
+        settings.simulationSpeed = doubleValue(properties, "simulationSpeed", 0.5, 30, settings.simulationSpeed);
+        settings.bet = intValue(properties, "bet", 1, 1000, settings.bet);
+        settings.reelWeights = properties.getProperty("reelWeights", "").trim();
+        return settings;
+    }
+
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("columns", String.valueOf(columns));
+        properties.setProperty("symbols", String.valueOf(symbolsToUse));
+        properties.setProperty("spinSpeed", String.valueOf(spinSpeed));
+        properties.setProperty("simulationSpeed", String.valueOf(simulationSpeed));
+        properties.setProperty("bet", String.valueOf(bet));
+        properties.setProperty("reelWeights", reelWeights);
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, FILE_NAME, ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, null);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getSymbolsToUse() {
+        return symbolsToUse;
+    }
+
+    public double getSpinSpeed() {
+        return spinSpeed;
+    }
+
+    public double getSimulationSpeed() {
+        return simulationSpeed;
+    }
+
+    public int getBet() {
+        return bet;
+    }
+
+    public String getReelWeights() {
+        return reelWeights;
+    }
+
+    public void set(int columns, int symbolsToUse, double spinSpeed, double simulationSpeed, int bet, String reelWeights) {
+        this.columns = columns;
+        this.symbolsToUse = symbolsToUse;
+        this.spinSpeed = spinSpeed;
+        this.simulationSpeed = simulationSpeed;
+        this.bet = bet;
+        this.reelWeights = reelWeights;
+    }
+
+    private static int intValue(Properties properties, String key, int min, int max, int fallback) {
+        try {
+            int value = Integer.parseInt(properties.getProperty(key, "").trim());
+            return value >= min && value <= max ? value : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static double doubleValue(Properties properties, String key, double min, double max, double fallback) {
+        try {
+            double value = Double.parseDouble(properties.getProperty(key, "").trim());
+            return value >= min && value <= max ? value : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
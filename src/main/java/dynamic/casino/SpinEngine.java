@@ -0,0 +1,131 @@
+package dynamic.casino;
+
+import java.util.Objects;
+
+// Логика вращения без JavaFX: выбирает остановки барабанов и решает, выигрыш ли это.
+// Контроллер только анимирует барабаны к результату, который вернул движок.
+public class SpinEngine {
+    private final int columns;
+    private final int rows;
+    private final int symbolCount;
+    private final RandomNumberGenerator rng;
+    private final ReelWeights weights; // null — все символы равновероятны
+    private final Paytable paytable; // null — без выплат
+    private final int configId;
+
+    public SpinEngine(int columns, int rows, int symbolCount, RandomNumberGenerator rng) {
+        this(columns, rows, symbolCount, rng, null);
+    }
+
+    public SpinEngine(int columns, int rows, int symbolCount, RandomNumberGenerator rng, ReelWeights weights) {
+        this(columns, rows, symbolCount, rng, weights, null);
+    }
+
+    public SpinEngine(int columns, int rows, int symbolCount, RandomNumberGenerator rng,
+                      ReelWeights weights, Paytable paytable) {
+        if (columns <= 0 || rows <= 0 || symbolCount <= 0) {
+            throw new IllegalArgumentException(
+                "columns, rows and symbolCount must be positive: " + columns + ", " + rows + ", " + symbolCount);
+        }
+        if (rng == null) {
+            throw new IllegalArgumentException("rng must not be null");
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.symbolCount = symbolCount;
+        this.rng = rng;
+        if (weights != null) {
+            if (weights.getColumns() != columns) {
+                throw new IllegalArgumentException("Weights are set for " + weights.getColumns() + " reels, not " + columns);
+            }
+            for (int col = 0; col < columns; col++) {
+                if (weights.getSymbolCount(col) != symbolCount) {
+                    throw new IllegalArgumentException("Reel " + col + " has weights for "
+                        + weights.getSymbolCount(col) + " symbols, not " + symbolCount);
+                }
+            }
+        }
+        // Равные веса идут обычным путём nextInt, чтобы поток случайных чисел не менялся
+        this.weights = weights == null || weights.isUniform() ? null : weights;
+        if (paytable != null && (paytable.getColumns() != columns || paytable.getSymbolCount() != symbolCount)) {
+            throw new IllegalArgumentException("Paytable does not match " + columns + " columns and " + symbolCount + " symbols");
+        }
+        this.paytable = paytable;
+        this.configId = Objects.hash(columns, rows, symbolCount, this.weights, paytable);
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    public ReelWeights getWeights() {
+        return weights;
+    }
+
+    public Paytable getPaytable() {
+        return paytable;
+    }
+
+    // Отпечаток конфигурации для журнала: одинаковые настройки дают одинаковый id
+    public int getConfigId() {
+        return configId;
+    }
+
+    public RandomNumberGenerator getRng() {
+        return rng;
+    }
+
+    public SpinResult spin() {
+        int[] stops = new int[columns];
+        boolean win = spinInto(stops);
+        return new SpinResult(stops, win, paytable == null ? 0 : paytable.payout(stops));
+    }
+
+    // Вариант без аллокаций для пакетной симуляции: массив переиспользуется вызывающим
+    public boolean spinInto(int[] stops) {
+        if (weights == null) {
+            for (int col = 0; col < columns; col++) {
+                stops[col] = rng.nextInt(symbolCount);
+            }
+        } else {
+            for (int col = 0; col < columns; col++) {
+                stops[col] = weights.sample(col, rng);
+            }
+        }
+        return isWin(stops, columns);
+    }
+
+    public long countWins(long spins) {
+        int[] stops = new int[columns];
+        long wins = 0;
+        for (long i = 0; i < spins; i++) {
+            if (spinInto(stops)) {
+                wins++;
+            }
+        }
+        return wins;
+    }
+
+    // Та же проверка, что и в checkWin: выигрыш, если верхние символы всех колонок совпадают.
+    // Одна колонка выигрышем не считается.
+    public static boolean isWin(int[] stops, int columns) {
+        if (columns < 2) {
+            return false;
+        }
+        int first = stops[0];
+        for (int col = 1; col < columns; col++) {
+            if (stops[col] != first) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
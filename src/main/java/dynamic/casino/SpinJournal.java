@@ -0,0 +1,292 @@
+package dynamic.casino;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+// Журнал спинов только на дозапись. Файлы-сегменты journal-NNNNNNNN.seg отображаются
+// в память целиком, запись — копирование 64 байт в MappedByteBuffer без системных вызовов.
+// Каждая запись содержит CRC32C от CRC предыдущей записи и своих байт, заголовок сегмента —
+// CRC последней записи прошлого сегмента, так что цепочка тянется через весь журнал
+// и правка любой записи ломает все последующие.
+// Сброс на диск (force) делает фоновый поток, поток интерфейса на нём не блокируется.
+public class SpinJournal implements Closeable {
+    public static final int MAGIC = 0x53504A31; // "SPJ1"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 64;
+    public static final int MAX_COLUMNS = 10;
+    public static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 20;
+
+    // Смещения полей записи
+    static final int TIMESTAMP = 0;
+    static final int SEQUENCE = 8;
+    static final int CONFIG_ID = 16;
+    static final int COLUMNS = 20;
+    static final int FLAGS = 21;
+    static final int SEED = 24;
+    static final int POSITION = 32;
+    static final int PAYOUT = 40;
+    static final int STOPS = 48;
+    static final int CRC = 60;
+
+    static final int FLAG_WIN = 1;
+
+    // Смещения полей заголовка
+    static final int HEADER_SEGMENT = 8;
+    static final int HEADER_PREVIOUS_CRC = 16;
+    static final int HEADER_RECORD_SIZE = 20;
+    static final int HEADER_CAPACITY = 24;
+    static final int HEADER_FIRST_SEQUENCE = 32;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final byte[] scratch = new byte[RECORD_SIZE];
+    private final ByteBuffer record = ByteBuffer.wrap(scratch);
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService flusher;
+    private final ConcurrentLinkedQueue<MappedByteBuffer> retired = new ConcurrentLinkedQueue<>();
+
+    private volatile MappedByteBuffer segment;
+    private long segmentIndex;
+    private int segmentCapacity;
+    private int recordsInSegment;
+    private int previousCrc;
+    private long sequence;
+    private boolean closed;
+
+    private SpinJournal(Path directory, int recordsPerSegment, long flushIntervalMs) {
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "spin-journal-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static SpinJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_RECORDS_PER_SEGMENT, 1000);
+    }
+
+    // Продолжает существующий журнал после последней записи с верной контрольной суммой
+    public static SpinJournal open(Path directory, int recordsPerSegment, long flushIntervalMs) throws IOException {
+        if (recordsPerSegment <= 0) {
+            throw new IllegalArgumentException("recordsPerSegment must be positive: " + recordsPerSegment);
+        }
+        Files.createDirectories(directory);
+        SpinJournal journal = new SpinJournal(directory, recordsPerSegment, flushIntervalMs);
+        try {
+            journal.recover();
+        } catch (IOException | RuntimeException e) {
+            journal.flusher.shutdownNow();
+            throw e;
+        }
+        return journal;
+    }
+
+    public synchronized void append(long timestamp, int configId, long seed, long position,
+                                    int[] stops, int columns, boolean win, long payout) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        if (columns > MAX_COLUMNS) {
+            throw new IllegalArgumentException("At most " + MAX_COLUMNS + " columns fit into a record: " + columns);
+        }
+        if (recordsInSegment == segmentCapacity) {
+            startSegment(segmentIndex + 1);
+        }
+
+        record.clear();
+        record.putLong(TIMESTAMP, timestamp);
+        record.putLong(SEQUENCE, sequence);
+        record.putInt(CONFIG_ID, configId);
+        record.put(COLUMNS, (byte) columns);
+        record.put(FLAGS, (byte) (win ? FLAG_WIN : 0));
+        record.putShort(22, (short) 0);
+        record.putLong(SEED, seed);
+        record.putLong(POSITION, position);
+        record.putLong(PAYOUT, payout);
+        for (int col = 0; col < MAX_COLUMNS + 2; col++) {
+            scratch[STOPS + col] = col < columns ? (byte) stops[col] : 0;
+        }
+        int checksum = chainCrc(crc, previousCrc, scratch);
+        record.putInt(CRC, checksum);
+
+        MappedByteBuffer target = segment;
+        target.position(HEADER_SIZE + recordsInSegment * RECORD_SIZE);
+        target.put(scratch);
+
+        previousCrc = checksum;
+        recordsInSegment++;
+        sequence++;
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Сбрасывает на диск текущий и уже заполненные сегменты
+    public void flush() {
+        MappedByteBuffer old;
+        while ((old = retired.poll()) != null) {
+            old.force();
+        }
+        MappedByteBuffer current = segment;
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    static int chainCrc(CRC32C crc, int previous, byte[] record) {
+        crc.reset();
+        crc.update(previous >>> 24);
+        crc.update(previous >>> 16);
+        crc.update(previous >>> 8);
+        crc.update(previous);
+        crc.update(record, 0, CRC);
+        return (int) crc.getValue();
+    }
+
+    static String segmentName(long index) {
+        return String.format("journal-%08d.seg", index);
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        List<Path> result = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return result;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "journal-*.seg")) {
+            for (Path path : stream) {
+                result.add(path);
+            }
+        }
+        result.sort(null);
+        return result;
+    }
+
+    private void recover() throws IOException {
+        List<Path> existing = segments(directory);
+        if (existing.isEmpty()) {
+            startSegment(0);
+            return;
+        }
+        Path last = existing.get(existing.size() - 1);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+            throw new IOException("Not a spin journal segment: " + last);
+        }
+        int capacity = buffer.getInt(HEADER_CAPACITY);
+        int chain = buffer.getInt(HEADER_PREVIOUS_CRC);
+        int count = 0;
+        byte[] bytes = new byte[RECORD_SIZE];
+        while (count < capacity) {
+            buffer.position(HEADER_SIZE + count * RECORD_SIZE);
+            buffer.get(bytes);
+            int stored = ByteBuffer.wrap(bytes).getInt(CRC);
+            if (stored != chainCrc(crc, chain, bytes)) {
+                break;
+            }
+            chain = stored;
+            count++;
+        }
+
+        // Обрыв при записи оставляет после себя только нули. Если дальше есть данные,
+        // запись посреди сегмента испорчена или подделана: сегмент остаётся как есть,
+        // чтобы проверка журнала нашла расхождение, а запись продолжается в новом сегменте
+        if (count < capacity && !isZero(buffer, HEADER_SIZE + (count + 1) * RECORD_SIZE, HEADER_SIZE + capacity * RECORD_SIZE)) {
+            int lastRecord = capacity - 1;
+            while (isZero(buffer, HEADER_SIZE + lastRecord * RECORD_SIZE, HEADER_SIZE + (lastRecord + 1) * RECORD_SIZE)) {
+                lastRecord--;
+            }
+            System.err.println("Журнал: запись " + count + " в " + last.getFileName()
+                + " не сходится с цепочкой CRC, сегмент оставлен без изменений");
+            segmentIndex = buffer.getLong(HEADER_SEGMENT);
+            previousCrc = buffer.getInt(HEADER_SIZE + lastRecord * RECORD_SIZE + CRC);
+            sequence = buffer.getLong(HEADER_FIRST_SEQUENCE) + lastRecord + 1;
+            startSegment(segmentIndex + 1);
+            return;
+        }
+
+        segment = buffer;
+        segmentIndex = buffer.getLong(HEADER_SEGMENT);
+        segmentCapacity = capacity;
+        recordsInSegment = count;
+        previousCrc = chain;
+        sequence = buffer.getLong(HEADER_FIRST_SEQUENCE) + count;
+    }
+
+    // Границы кратны размеру записи, поэтому можно идти по 8 байт
+    private static boolean isZero(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i += Long.BYTES) {
+            if (buffer.getLong(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void startSegment(long index) throws IOException {
+        Path path = directory.resolve(segmentName(index));
+        long size = HEADER_SIZE + (long) recordsPerSegment * RECORD_SIZE;
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(HEADER_SEGMENT, index);
+        buffer.putInt(HEADER_PREVIOUS_CRC, previousCrc);
+        buffer.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+        buffer.putInt(HEADER_CAPACITY, recordsPerSegment);
+        buffer.putLong(HEADER_FIRST_SEQUENCE, sequence);
+
+        if (segment != null) {
+            retired.add(segment);
+        }
+        segment = buffer;
+        segmentIndex = index;
+        segmentCapacity = recordsPerSegment;
+        recordsInSegment = 0;
+    }
+}
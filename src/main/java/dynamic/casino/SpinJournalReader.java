@@ -0,0 +1,150 @@
+package dynamic.casino;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// Последовательное чтение журнала спинов. Сегменты отображаются в память по одному,
+// так что журнал за день читается потоком без загрузки целиком.
+// Цепочка CRC32C проверяется на каждой записи; ошибка — IOException с номером записи.
+public class SpinJournalReader implements Closeable {
+    private final List<Path> segments;
+    private final byte[] scratch = new byte[SpinJournal.RECORD_SIZE];
+    private final ByteBuffer record = ByteBuffer.wrap(scratch);
+    private final CRC32C crc = new CRC32C();
+
+    private int segmentIndex = -1;
+    private MappedByteBuffer segment;
+    private int capacity;
+    private int next;
+    private int chain;
+    private boolean finished;
+
+    private SpinJournalReader(List<Path> segments) {
+        this.segments = segments;
+    }
+
+    public static SpinJournalReader open(Path directory) throws IOException {
+        List<Path> segments = SpinJournal.segments(directory);
+        if (segments.isEmpty()) {
+            throw new IOException("No journal segments in " + directory);
+        }
+        return new SpinJournalReader(segments);
+    }
+
+    // Переходит к записи с данным номером; записи до неё не проверяются
+    public void seek(long sequence) throws IOException {
+        if (sequence < 0) {
+            throw new IllegalArgumentException("sequence must not be negative: " + sequence);
+        }
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            MappedByteBuffer buffer = map(segments.get(i));
+            long first = buffer.getLong(SpinJournal.HEADER_FIRST_SEQUENCE);
+            if (first <= sequence || i == 0) {
+                enter(i, buffer);
+                int offset = (int) Math.min(Math.max(sequence - first, 0), capacity);
+                if (offset > 0) {
+                    chain = buffer.getInt(recordOffset(offset - 1) + SpinJournal.CRC);
+                }
+                next = offset;
+                finished = false;
+                return;
+            }
+        }
+    }
+
+    // Следующая запись или null, если журнал кончился
+    public SpinRecord next() throws IOException {
+        while (!finished) {
+            if (segment == null || next == capacity) {
+                if (segmentIndex + 1 == segments.size()) {
+                    finished = true;
+                    break;
+                }
+                int expected = chain;
+                boolean continuing = segment != null;
+                enter(segmentIndex + 1, map(segments.get(segmentIndex + 1)));
+                if (continuing && chain != expected) {
+                    throw new IOException("Checksum chain broken at " + segments.get(segmentIndex).getFileName());
+                }
+                continue;
+            }
+
+            segment.position(recordOffset(next));
+            segment.get(scratch);
+            int stored = record.getInt(SpinJournal.CRC);
+            if (stored != SpinJournal.chainCrc(crc, chain, scratch)) {
+                // Незаполненный хвост последнего сегмента — нормальный конец журнала
+                if (isEmpty(scratch) && segmentIndex == segments.size() - 1) {
+                    finished = true;
+                    break;
+                }
+                throw new IOException("Checksum mismatch in " + segments.get(segmentIndex).getFileName()
+                    + " at record " + next);
+            }
+            chain = stored;
+            next++;
+            return decode();
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        segment = null;
+        finished = true;
+    }
+
+    private SpinRecord decode() {
+        int columns = scratch[SpinJournal.COLUMNS];
+        int[] stops = new int[columns];
+        for (int col = 0; col < columns; col++) {
+            stops[col] = scratch[SpinJournal.STOPS + col] & 0xFF;
+        }
+        return new SpinRecord(
+            record.getLong(SpinJournal.TIMESTAMP),
+            record.getLong(SpinJournal.SEQUENCE),
+            record.getInt(SpinJournal.CONFIG_ID),
+            record.getLong(SpinJournal.SEED),
+            record.getLong(SpinJournal.POSITION),
+            stops,
+            (scratch[SpinJournal.FLAGS] & SpinJournal.FLAG_WIN) != 0,
+            record.getLong(SpinJournal.PAYOUT));
+    }
+
+    private void enter(int index, MappedByteBuffer buffer) throws IOException {
+        if (buffer.getInt(0) != SpinJournal.MAGIC || buffer.getInt(SpinJournal.HEADER_RECORD_SIZE) != SpinJournal.RECORD_SIZE) {
+            throw new IOException("Not a spin journal segment: " + segments.get(index));
+        }
+        segmentIndex = index;
+        segment = buffer;
+        capacity = buffer.getInt(SpinJournal.HEADER_CAPACITY);
+        chain = buffer.getInt(SpinJournal.HEADER_PREVIOUS_CRC);
+        next = 0;
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static int recordOffset(int index) {
+        return SpinJournal.HEADER_SIZE + index * SpinJournal.RECORD_SIZE;
+    }
+
+    private static boolean isEmpty(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+package dynamic.casino;
+
+import java.util.Arrays;
+
+// Одна запись журнала спинов в разобранном виде
+public class SpinRecord {
+    private final long timestamp;
+    private final long sequence;
+    private final int configId;
+    private final long seed;
+    private final long position;
+    private final int[] stops;
+    private final boolean win;
+    private final long payout;
+
+    public SpinRecord(long timestamp, long sequence, int configId, long seed, long position,
+                      int[] stops, boolean win, long payout) {
+        this.timestamp = timestamp;
+        this.sequence = sequence;
+        this.configId = configId;
+        this.seed = seed;
+        this.position = position;
+        this.stops = stops;
+        this.win = win;
+        this.payout = payout;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getConfigId() {
+        return configId;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Позиция генератора перед спином, -1 — генератор не позволял её узнать
+    public long getPosition() {
+        return position;
+    }
+
+    public boolean isReplayable() {
+        return position >= 0;
+    }
+
+    public int getStop(int column) {
+        return stops[column];
+    }
+
+    public int[] getStops() {
+        return stops.clone();
+    }
+
+    public int getColumns() {
+        return stops.length;
+    }
+
+    public boolean isWin() {
+        return win;
+    }
+
+    public long getPayout() {
+        return payout;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + Arrays.toString(stops) + (win ? " WIN" : " LOSE") + " " + payout
+            + " seed=" + seed + " position=" + position;
+    }
+}
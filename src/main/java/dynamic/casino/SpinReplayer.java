@@ -0,0 +1,89 @@
+package dynamic.casino;
+
+// Воспроизводит спины по зерну и позиции генератора SplitMix64 без анимации.
+// Конфигурация (колонки, веса, таблица выплат) должна совпадать с той, что была при записи:
+// это проверяется по configId движка.
+public class SpinReplayer {
+    private final int columns;
+    private final int rows;
+    private final int symbolCount;
+    private final ReelWeights weights;
+    private final Paytable paytable;
+    private final int configId;
+
+    private SplitMix64Generator rng;
+    private SpinEngine engine;
+
+    public SpinReplayer(int columns, int rows, int symbolCount, ReelWeights weights, Paytable paytable) {
+        this.columns = columns;
+        this.rows = rows;
+        this.symbolCount = symbolCount;
+        this.weights = weights;
+        this.paytable = paytable;
+        reset(0);
+        this.configId = engine.getConfigId();
+    }
+
+    // Та же конфигурация, что у работающего движка
+    public static SpinReplayer forEngine(SpinEngine engine) {
+        return new SpinReplayer(engine.getColumns(), engine.getRows(), engine.getSymbolCount(),
+            engine.getWeights(), engine.getPaytable());
+    }
+
+    public int getConfigId() {
+        return configId;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public SpinResult replay(long seed, long position) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Spin has no recorded generator position");
+        }
+        if (rng.getSeed() != seed) {
+            reset(seed);
+        }
+        rng.setPosition(position);
+        return engine.spin();
+    }
+
+    // Следующий спин после последнего воспроизведённого
+    public SpinResult next() {
+        return engine.spin();
+    }
+
+    public long getPosition() {
+        return rng.getPosition();
+    }
+
+    public SpinResult replay(SpinRecord record) {
+        if (record.getConfigId() != configId) {
+            throw new IllegalArgumentException("Spin #" + record.getSequence() + " was recorded with config "
+                + record.getConfigId() + ", replayer has " + configId);
+        }
+        return replay(record.getSeed(), record.getPosition());
+    }
+
+    // Записанный исход совпадает с воспроизведённым. Ставка в журнал не пишется,
+    // поэтому выплата проверяется на кратность множителю
+    public boolean matches(SpinRecord record) {
+        SpinResult result = replay(record);
+        if (result.isWin() != record.isWin() || result.getColumns() != record.getColumns()) {
+            return false;
+        }
+        for (int col = 0; col < columns; col++) {
+            if (result.getStop(col) != record.getStop(col)) {
+                return false;
+            }
+        }
+        int multiplier = result.getMultiplier();
+        return multiplier == 0 ? record.getPayout() == 0 : record.getPayout() % multiplier == 0;
+    }
+
+    private void reset(long seed) {
+        rng = new SplitMix64Generator(seed);
+        engine = new SpinEngine(columns, rows, symbolCount, rng, weights, paytable);
+    }
+}
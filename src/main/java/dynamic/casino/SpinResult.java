@@ -0,0 +1,46 @@
+package dynamic.casino;
+
+import java.util.Arrays;
+
+public class SpinResult {
+    private final int[] stops;
+    private final boolean win;
+    private final int multiplier;
+
+    public SpinResult(int[] stops, boolean win) {
+        this(stops, win, 0);
+    }
+
+    public SpinResult(int[] stops, boolean win, int multiplier) {
+        this.stops = stops;
+        this.win = win;
+        this.multiplier = multiplier;
+    }
+
+    // Индекс символа, который должен остановиться наверху каждого барабана
+    public int getStop(int column) {
+        return stops[column];
+    }
+
+    public int[] getStops() {
+        return stops.clone();
+    }
+
+    public int getColumns() {
+        return stops.length;
+    }
+
+    public boolean isWin() {
+        return win;
+    }
+
+    // Множитель ставки по таблице выплат, 0 — без выплаты
+    public int getMultiplier() {
+        return multiplier;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(stops) + (win ? " WIN" : " LOSE") + (multiplier > 0 ? " x" + multiplier : "");
+    }
+}
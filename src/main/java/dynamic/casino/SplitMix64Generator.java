@@ -0,0 +1,74 @@
+package dynamic.casino;
+
+// SplitMix64: состояние растёт на фиксированный шаг gamma, поэтому перемотка
+// на любое число шагов и вычисление текущей позиции занимают O(1).
+public class SplitMix64Generator implements SplittableRandomNumberGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final long gamma;
+    private long state;
+
+    public SplitMix64Generator(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private SplitMix64Generator(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        state += gamma;
+        return mix64(state);
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public long getPosition() {
+        return (state - seed) * inverse(gamma);
+    }
+
+    public void setPosition(long position) {
+        state = seed + position * gamma;
+    }
+
+    public void advance(long steps) {
+        state += steps * gamma;
+    }
+
+    @Override
+    public SplitMix64Generator split() {
+        return new SplitMix64Generator(nextLong(), mixGamma(nextLong()));
+    }
+
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Как в java.util.SplittableRandom: нечётный gamma с достаточным числом переходов битов
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+
+    // Обратный элемент нечётного числа по модулю 2^64 (итерации Ньютона)
+    private static long inverse(long odd) {
+        long x = odd;
+        for (int i = 0; i < 5; i++) {
+            x *= 2 - odd * x;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,40 @@
+package dynamic.casino;
+
+// Генератор с известным зерном, который можно разделить на независимые потоки.
+// При одном и том же зерне последовательность split() и все значения воспроизводятся побитно.
+public interface SplittableRandomNumberGenerator extends RandomNumberGenerator {
+    long nextLong();
+
+    long getSeed();
+
+    // Сколько nextLong выдано от зерна; -1, если генератор это не отслеживает
+    default long getPosition() {
+        return -1;
+    }
+
+    // Новый независимый поток; сам генератор при этом сдвигается дальше
+    SplittableRandomNumberGenerator split();
+
+    // Метод Лемира: умножение вместо деления, остаток считается только в редкой ветке отбраковки
+    @Override
+    default int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        long m = (nextLong() >>> 32) * bound;
+        long low = m & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = ((1L << 32) - bound) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> 32) * bound;
+                low = m & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    @Override
+    default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+}
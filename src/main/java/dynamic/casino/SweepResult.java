@@ -0,0 +1,66 @@
+package dynamic.casino;
+
+// Одна конфигурация перебора: колонки, символы, веса барабанов и их показатели
+// при таблице выплат Paytable.forTargetRtp
+public class SweepResult {
+    private final int columns;
+    private final int symbolCount;
+    private final String preset;
+    private final ReelWeights weights;
+    private final double winProbability;
+    private final double rtp;
+    private final boolean analytic;
+
+    public SweepResult(int columns, int symbolCount, String preset, ReelWeights weights,
+                       double winProbability, double rtp, boolean analytic) {
+        this.columns = columns;
+        this.symbolCount = symbolCount;
+        this.preset = preset;
+        this.weights = weights;
+        this.winProbability = winProbability;
+        this.rtp = rtp;
+        this.analytic = analytic;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    public String getPreset() {
+        return preset;
+    }
+
+    public ReelWeights getWeights() {
+        return weights;
+    }
+
+    public double getWinProbability() {
+        return winProbability;
+    }
+
+    public double getRtp() {
+        return rtp;
+    }
+
+    // false — оценка симуляцией
+    public boolean isAnalytic() {
+        return analytic;
+    }
+
+    // Результат из кэша для той же конфигурации, но под именем другого набора весов
+    // с теми же вероятностями
+    SweepResult withPreset(String preset, ReelWeights weights) {
+        return preset.equals(this.preset) && weights.equals(this.weights) ? this
+            : new SweepResult(columns, symbolCount, preset, weights, winProbability, rtp, analytic);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("columns=%d symbols=%d weights=%s win=%.8f rtp=%.6f%s",
+            columns, symbolCount, preset, winProbability, rtp, analytic ? "" : " (simulated)");
+    }
+}
@@ -0,0 +1,109 @@
+package dynamic.casino;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Все символы в одной текстуре: каждый уже в размере ячейки барабана, ImageView показывает
+// свой символ через viewport. На GPU уходит одна текстура вместо N, при смене символа
+// меняется только прямоугольник, а масштабирования при отрисовке нет вовсе.
+// Собирать можно в фоновом потоке: WritableImage не привязан к сцене.
+public class SymbolAtlas {
+    // Безопасный предел размера текстуры для встроенной графики
+    public static final int MAX_TEXTURE_SIZE = 4096;
+
+    private final WritableImage image;
+    private final int cellSize;
+    private final Rectangle2D[] viewports;
+    private final List<Image> sources;
+
+    private SymbolAtlas(WritableImage image, int cellSize, Rectangle2D[] viewports, List<Image> sources) {
+        this.image = image;
+        this.cellSize = cellSize;
+        this.viewports = viewports;
+        this.sources = sources;
+    }
+
+    public static SymbolAtlas build(List<Image> symbols, int cellSize) {
+        if (symbols.isEmpty() || cellSize <= 0) {
+            throw new IllegalArgumentException("Atlas needs symbols and a positive cell size");
+        }
+        int perRow = Math.min(symbols.size(), MAX_TEXTURE_SIZE / cellSize);
+        int rows = (symbols.size() + perRow - 1) / perRow;
+        if (rows * cellSize > MAX_TEXTURE_SIZE) {
+            throw new IllegalArgumentException("Too many symbols for one atlas: " + symbols.size());
+        }
+
+        WritableImage atlas = new WritableImage(perRow * cellSize, rows * cellSize);
+        Rectangle2D[] viewports = new Rectangle2D[symbols.size()];
+        int[] cell = new int[cellSize * cellSize];
+        for (int i = 0; i < symbols.size(); i++) {
+            int x = (i % perRow) * cellSize;
+            int y = (i / perRow) * cellSize;
+            scaleInto(symbols.get(i), cellSize, cell);
+            atlas.getPixelWriter().setPixels(x, y, cellSize, cellSize, PixelFormat.getIntArgbInstance(), cell, 0, cellSize);
+            viewports[i] = new Rectangle2D(x, y, cellSize, cellSize);
+        }
+        return new SymbolAtlas(atlas, cellSize, viewports, new ArrayList<>(symbols));
+    }
+
+    public Image getImage() {
+        return image;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int getSymbolCount() {
+        return viewports.length;
+    }
+
+    public Rectangle2D getViewport(int symbol) {
+        return viewports[symbol];
+    }
+
+    // Подходит ли атлас для набора: usedImages — начало списка загруженных изображений
+    public boolean covers(List<Image> symbols) {
+        if (symbols.size() > sources.size()) {
+            return false;
+        }
+        for (int i = 0; i < symbols.size(); i++) {
+            if (symbols.get(i) != sources.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Изображения уже декодированы в размер ячейки, тогда это просто копия пикселей;
+    // иначе — однократное масштабирование по ближайшему соседу
+    private static void scaleInto(Image source, int cellSize, int[] target) {
+        PixelReader reader = source.getPixelReader();
+        int w = (int) source.getWidth();
+        int h = (int) source.getHeight();
+        if (reader == null || w == 0 || h == 0) {
+            Arrays.fill(target, 0);
+            return;
+        }
+        if (w == cellSize && h == cellSize) {
+            reader.getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), target, 0, w);
+            return;
+        }
+        int[] pixels = new int[w * h];
+        reader.getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixels, 0, w);
+        for (int y = 0; y < cellSize; y++) {
+            int sy = (int) ((y + 0.5) * h / cellSize);
+            for (int x = 0; x < cellSize; x++) {
+                int sx = (int) ((x + 0.5) * w / cellSize);
+                target[y * cellSize + x] = pixels[sy * w + sx];
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package dynamic.casino;
+
+import javafx.scene.image.Image;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Ограниченный LRU-кэш уже декодированных символов.
+// Ключ включает путь, время изменения и размер файла, а также размер декодирования,
+// поэтому изменённый файл просто не найдётся в кэше и будет декодирован заново.
+public class SymbolImageCache {
+    private final int maxEntries;
+    private final Map<String, Image> images;
+
+    public SymbolImageCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.images = new LinkedHashMap<String, Image>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+                return size() > SymbolImageCache.this.maxEntries;
+            }
+        };
+    }
+
+    public static String key(File file, double width, double height) {
+        return file.getAbsolutePath() + '|' + file.lastModified() + '|' + file.length() + '|' + width + 'x' + height;
+    }
+
+    public synchronized Image get(String key) {
+        return images.get(key);
+    }
+
+    public synchronized void put(String key, Image image) {
+        images.put(key, image);
+    }
+
+    public synchronized int size() {
+        return images.size();
+    }
+
+    public synchronized void clear() {
+        images.clear();
+    }
+}
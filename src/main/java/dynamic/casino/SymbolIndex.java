@@ -0,0 +1,185 @@
+package dynamic.casino;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// Постоянный индекс папки с изображениями: размер, время изменения, SHA-256 содержимого
+// и уменьшенная копия в ARGB. При запуске перехешируются только изменившиеся файлы.
+public class SymbolIndex {
+    public static final String FILE_NAME = ".symbol-index";
+
+    private static final int MAGIC = 0x53594D31; // "SYM1"
+    // Уменьшенные копии — это ячейки барабана, больше такого размера они не бывают
+    static final int MAX_THUMBNAIL_SIDE = 1024;
+    // Deflate сжимает не сильнее чем примерно 1032:1, поэтому пикселей в файле не может
+    // быть больше, чем даёт его длина с этим коэффициентом
+    private static final long MAX_DEFLATE_RATIO = 1032;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean dirty;
+
+    public static class Entry {
+        private final long size;
+        private final long lastModified;
+        private final String contentHash;
+        private final int width;
+        private final int height;
+        private final int[] pixels;
+
+        public Entry(long size, long lastModified, String contentHash, int width, int height, int[] pixels) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+            this.width = width;
+            this.height = height;
+            this.pixels = pixels;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int[] getPixels() {
+            return pixels;
+        }
+
+        public boolean matches(File file, int thumbnailWidth, int thumbnailHeight) {
+            return size == file.length() && lastModified == file.lastModified()
+                && width == thumbnailWidth && height == thumbnailHeight;
+        }
+    }
+
+    // Битый или устаревший индекс не ошибка: просто начинаем с пустого
+    public static SymbolIndex load(File directory) {
+        SymbolIndex index = new SymbolIndex();
+        File file = new File(directory, FILE_NAME);
+        if (!file.isFile()) {
+            return index;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new InflaterInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                return index;
+            }
+            int count = in.readInt();
+            long pixelBudget = file.length() * MAX_DEFLATE_RATIO / Integer.BYTES;
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                String hash = in.readUTF();
+                int width = in.readInt();
+                int height = in.readInt();
+                // Размеры проверяются до выделения массива: битый заголовок иначе дал бы OutOfMemoryError
+                if (width <= 0 || height <= 0 || width > MAX_THUMBNAIL_SIDE || height > MAX_THUMBNAIL_SIDE
+                        || (long) width * height > pixelBudget) {
+                    throw new IOException("Invalid thumbnail size " + width + "x" + height + " for " + name);
+                }
+                pixelBudget -= (long) width * height;
+                int[] pixels = new int[width * height];
+                for (int p = 0; p < pixels.length; p++) {
+                    pixels[p] = in.readInt();
+                }
+                index.entries.put(name, new Entry(size, lastModified, hash, width, height, pixels));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Индекс изображений повреждён и будет перестроен: " + e.getMessage());
+            index.entries.clear();
+        }
+        return index;
+    }
+
+    public synchronized void save(File directory) throws IOException {
+        if (!dirty) {
+            return;
+        }
+        Path target = new File(directory, FILE_NAME).toPath();
+        Path temp = Files.createTempFile(directory.toPath(), FILE_NAME, ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new DeflaterOutputStream(Files.newOutputStream(temp))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(entry.size);
+                out.writeLong(entry.lastModified);
+                out.writeUTF(entry.contentHash);
+                out.writeInt(entry.width);
+                out.writeInt(entry.height);
+                for (int pixel : entry.pixels) {
+                    out.writeInt(pixel);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        dirty = false;
+    }
+
+    public synchronized Entry get(String name) {
+        return entries.get(name);
+    }
+
+    public synchronized void put(String name, Entry entry) {
+        entries.put(name, entry);
+        dirty = true;
+    }
+
+    // Удаляет записи о файлах, которых больше нет в папке
+    public synchronized void retainOnly(Collection<String> names) {
+        if (entries.keySet().retainAll(new HashSet<>(names))) {
+            dirty = true;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public static String hash(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
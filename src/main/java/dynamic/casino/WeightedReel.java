@@ -0,0 +1,96 @@
+package dynamic.casino;
+
+import java.util.Arrays;
+
+// Лента барабана: символ на каждой остановке и вероятность остановки.
+// Ряд r окна при остановке k показывает символ strip[(k + r) % size].
+public class WeightedReel {
+    private final int[] strip;
+    private final double[] probabilities;
+    private final int symbolCount;
+
+    public WeightedReel(int[] strip, double[] weights) {
+        if (strip.length == 0 || strip.length != weights.length) {
+            throw new IllegalArgumentException("Strip and weights must be non-empty and of equal length");
+        }
+        double total = 0;
+        int maxSymbol = 0;
+        for (int i = 0; i < strip.length; i++) {
+            if (strip[i] < 0) {
+                throw new IllegalArgumentException("Negative symbol on strip: " + strip[i]);
+            }
+            if (weights[i] < 0 || Double.isNaN(weights[i])) {
+                throw new IllegalArgumentException("Invalid weight: " + weights[i]);
+            }
+            total += weights[i];
+            maxSymbol = Math.max(maxSymbol, strip[i]);
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Weights must not all be zero");
+        }
+        this.strip = strip.clone();
+        this.probabilities = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            probabilities[i] = weights[i] / total;
+        }
+        this.symbolCount = maxSymbol + 1;
+    }
+
+    // Так устроены барабаны в игре: каждый символ выпадает с равной вероятностью
+    public static WeightedReel uniform(int symbolCount) {
+        double[] weights = new double[symbolCount];
+        Arrays.fill(weights, 1);
+        return ofSymbolWeights(weights);
+    }
+
+    public static WeightedReel ofSymbolWeights(double[] symbolWeights) {
+        int[] strip = new int[symbolWeights.length];
+        for (int i = 0; i < strip.length; i++) {
+            strip[i] = i;
+        }
+        return new WeightedReel(strip, symbolWeights);
+    }
+
+    public int size() {
+        return strip.length;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    public int symbolAt(int stop, int row) {
+        return strip[(stop + row) % strip.length];
+    }
+
+    public double stopProbability(int stop) {
+        return probabilities[stop];
+    }
+
+    public double symbolProbability(int row, int symbol) {
+        double p = 0;
+        for (int stop = 0; stop < strip.length; stop++) {
+            if (symbolAt(stop, row) == symbol) {
+                p += probabilities[stop];
+            }
+        }
+        return p;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WeightedReel)) {
+            return false;
+        }
+        WeightedReel other = (WeightedReel) o;
+        return Arrays.equals(strip, other.strip) && Arrays.equals(probabilities, other.probabilities);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(strip) + Arrays.hashCode(probabilities);
+    }
+}
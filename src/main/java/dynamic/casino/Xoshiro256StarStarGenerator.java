@@ -0,0 +1,102 @@
+package dynamic.casino;
+
+// xoshiro256** (Blackman, Vigna). Период 2^256 - 1; jump() сдвигает поток на 2^128 значений,
+// так что потоки, полученные через split(), гарантированно не пересекаются.
+// Позицию генератор не отслеживает (getPosition() == -1), поэтому спины на нём не воспроизводятся
+// через SpinReplayer — для журнала нужен SplitMix64.
+public class Xoshiro256StarStarGenerator implements SplittableRandomNumberGenerator {
+    private static final long[] JUMP = {
+        0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL
+    };
+    private static final long[] LONG_JUMP = {
+        0x76E15D3EFEFDCBBFL, 0xC5004E441C522FB3L, 0x77710069854EE241L, 0x39109BB02ACBE635L
+    };
+
+    private final long seed;
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    public Xoshiro256StarStarGenerator(long seed) {
+        this.seed = seed;
+        // Рекомендация авторов: заполнять состояние через SplitMix64
+        SplitMix64Generator init = new SplitMix64Generator(seed);
+        s0 = init.nextLong();
+        s1 = init.nextLong();
+        s2 = init.nextLong();
+        s3 = init.nextLong();
+    }
+
+    // Прямое задание состояния — для эталонных векторов авторов
+    Xoshiro256StarStarGenerator(long seed, long s0, long s1, long s2, long s3) {
+        this.seed = seed;
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    // Каждый поток занимает свой блок в 2^128 значений: потомок начинается на блок впереди,
+    // а сам генератор перескакивает ещё на блок дальше. Поэтому и потомок, и родитель,
+    // который продолжает выдавать значения после split(), не заходят в чужие блоки
+    @Override
+    public Xoshiro256StarStarGenerator split() {
+        jump();
+        Xoshiro256StarStarGenerator stream = copy();
+        jump();
+        return stream;
+    }
+
+    public Xoshiro256StarStarGenerator copy() {
+        return new Xoshiro256StarStarGenerator(seed, s0, s1, s2, s3);
+    }
+
+    public void jump() {
+        applyJump(JUMP);
+    }
+
+    public void longJump() {
+        applyJump(LONG_JUMP);
+    }
+
+    private void applyJump(long[] polynomial) {
+        long t0 = 0;
+        long t1 = 0;
+        long t2 = 0;
+        long t3 = 0;
+        for (long word : polynomial) {
+            for (int bit = 0; bit < 64; bit++) {
+                if ((word & (1L << bit)) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                    t2 ^= s2;
+                    t3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+        s0 = t0;
+        s1 = t1;
+        s2 = t2;
+        s3 = t3;
+    }
+}
@@ -2,6 +2,9 @@ module dynamic.casino {
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.graphics;
+    requires java.management;
+    requires java.net.http;
+    requires jdk.httpserver;
 
     opens dynamic.casino to javafx.fxml;
     exports dynamic.casino;
@@ -0,0 +1,42 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AliasTableTest {
+
+    @Test
+    void samplesFollowWeights() {
+        double[] weights = {1, 2, 3, 0, 4};
+        AliasTable table = new AliasTable(weights);
+        assertEquals(5, table.size());
+        SplitMix64Generator rng = new SplitMix64Generator(11);
+        long[] counts = new long[weights.length];
+        for (int i = 0; i < 1_000_000; i++) {
+            counts[table.sample(rng)]++;
+        }
+        assertEquals(0, counts[3]);
+        long[] observed = {counts[0], counts[1], counts[2], counts[4]};
+        double[] expected = {0.1, 0.2, 0.3, 0.4};
+        assertTrue(ChiSquare.test(observed, expected).getPValue() > 1e-4);
+    }
+
+    @Test
+    void singleWeightAlwaysWins() {
+        AliasTable table = new AliasTable(new double[] {0, 0, 7});
+        SplitMix64Generator rng = new SplitMix64Generator(1);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(2, table.sample(rng));
+        }
+    }
+
+    @Test
+    void rejectsInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1, Double.NaN}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1, Double.POSITIVE_INFINITY}));
+    }
+}
@@ -0,0 +1,61 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChiSquareTest {
+
+    @Test
+    void pValuesMatchCriticalValueTable() {
+        assertEquals(0.05, ChiSquare.pValue(3.841459, 1), 1e-6);
+        assertEquals(0.01, ChiSquare.pValue(6.634897, 1), 1e-6);
+        assertEquals(0.05, ChiSquare.pValue(11.070498, 5), 1e-6);
+        assertEquals(0.01, ChiSquare.pValue(15.086272, 5), 1e-6);
+        assertEquals(0.05, ChiSquare.pValue(18.307038, 10), 1e-6);
+        assertEquals(0.95, ChiSquare.pValue(3.940299, 10), 1e-6);
+        assertEquals(0.001, ChiSquare.pValue(59.702620, 30), 1e-6);
+    }
+
+    @Test
+    void twoDegreesOfFreedomIsExponential() {
+        // При df = 2 хвост распределения равен exp(-x / 2) точно
+        for (double x : new double[] {0.1, 1, 5, 20, 80}) {
+            assertEquals(Math.exp(-x / 2), ChiSquare.pValue(x, 2), 1e-12 + 1e-10 * Math.exp(-x / 2));
+        }
+    }
+
+    @Test
+    void logGammaMatchesFactorials() {
+        assertEquals(Math.log(24), ChiSquare.logGamma(5), 1e-13);
+        assertEquals(Math.log(362880), ChiSquare.logGamma(10), 1e-12);
+        assertEquals(0.5 * Math.log(Math.PI), ChiSquare.logGamma(0.5), 1e-13);
+    }
+
+    @Test
+    void testComputesStatistic() {
+        // Ожидание 20 в каждой ячейке: (100 + 0 + 100) / 20 = 10, df = 2
+        ChiSquare result = ChiSquare.test(new long[] {10, 20, 30}, new double[] {1.0 / 3, 1.0 / 3, 1.0 / 3});
+        assertEquals(10, result.getStatistic(), 1e-9);
+        assertEquals(2, result.getDegreesOfFreedom());
+        assertEquals(Math.exp(-5), result.getPValue(), 1e-12);
+    }
+
+    @Test
+    void smallCellsAreMerged() {
+        // Ожидания 2, 2, 2, 94: первые три сливаются в одну ячейку, df = 1
+        ChiSquare result = ChiSquare.test(new long[] {2, 2, 2, 94}, new double[] {0.02, 0.02, 0.02, 0.94});
+        assertEquals(1, result.getDegreesOfFreedom());
+        assertEquals(0, result.getStatistic(), 1e-9);
+        assertEquals(1, result.getPValue(), 1e-12);
+    }
+
+    @Test
+    void impossibleOutcomeGivesZero() {
+        ChiSquare result = ChiSquare.test(new long[] {50, 49, 1}, new double[] {0.5, 0.5, 0});
+        assertEquals(0, result.getPValue());
+        assertEquals(1, ChiSquare.test(new long[3], new double[] {0.5, 0.5, 0}).getPValue());
+        assertThrows(IllegalArgumentException.class, () -> ChiSquare.test(new long[2], new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> ChiSquare.pValue(1, 0));
+    }
+}
@@ -0,0 +1,36 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigSweepTest {
+
+    @Test
+    void presetsWithEqualProbabilitiesShareOneEntry() {
+        ConfigSweep sweep = new ConfigSweep(0.95);
+        for (String preset : ConfigSweep.PRESETS) {
+            SweepResult result = sweep.evaluate(3, 1, preset, ConfigSweep.presetSpec(preset, 1));
+            assertEquals(preset, result.getPreset());
+            assertEquals(ConfigSweep.presetSpec(preset, 1), result.getWeights().toString().split(";")[0]);
+        }
+        assertEquals(1, sweep.cacheSize());
+    }
+
+    @Test
+    void sweepNeverExceedsTargetRtp() {
+        ConfigSweep sweep = new ConfigSweep(0.95);
+        List<SweepResult> results = sweep.sweep(null);
+        assertEquals(ConfigSweep.MAX_COLUMNS * ConfigSweep.MAX_SYMBOLS * ConfigSweep.PRESETS.size(), results.size());
+        for (SweepResult result : results) {
+            assertTrue(result.isAnalytic(), result.toString());
+            assertTrue(result.getRtp() <= 0.95 + 1e-12, result.toString());
+        }
+        // Один символ: четыре набора на каждое число колонок сводятся к одной записи;
+        // два символа: descending "2,1" и light-last "1,0.5" — одни и те же вероятности
+        int duplicates = ConfigSweep.MAX_COLUMNS * (ConfigSweep.PRESETS.size() - 1) + ConfigSweep.MAX_COLUMNS;
+        assertEquals(results.size() - duplicates, sweep.cacheSize());
+    }
+}
@@ -0,0 +1,37 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreditAccountTest {
+
+    @Test
+    void tracksBalanceAndRtp() {
+        CreditAccount account = new CreditAccount(100);
+        account.placeBet(10);
+        account.settle(0);
+        account.placeBet(10);
+        account.settle(25);
+        assertEquals(105, account.getBalance());
+        assertEquals(20, account.getTotalBet());
+        assertEquals(25, account.getTotalWon());
+        assertEquals(2, account.getSpins());
+        assertEquals(1, account.getPaidSpins());
+        assertEquals(1.25, account.getRtp(), 1e-12);
+    }
+
+    @Test
+    void rejectsBetsItCannotCover() {
+        CreditAccount account = new CreditAccount(5);
+        assertTrue(account.canBet(5));
+        assertFalse(account.canBet(6));
+        assertFalse(account.canBet(0));
+        assertThrows(IllegalStateException.class, () -> account.placeBet(6));
+        assertThrows(IllegalArgumentException.class, () -> account.placeBet(0));
+        assertThrows(IllegalArgumentException.class, () -> account.settle(-1));
+        assertThrows(IllegalArgumentException.class, () -> new CreditAccount(-1));
+        assertEquals(5, account.getBalance());
+        assertEquals(0, account.getRtp());
+    }
+}
@@ -0,0 +1,50 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+    private GameServer server;
+
+    @BeforeEach
+    void createServer() throws IOException {
+        server = new GameServer(0, new SplitMix64Generator(1), 1000, 60_000);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void sessionsWithEqualWeightsSharePaytable() {
+        GameSession first = server.createSession(3, 4, "1,2,3,4", 100);
+        GameSession second = server.createSession(3, 4, "1,2,3,4", 100);
+        assertSame(first.getEngine().getPaytable(), second.getEngine().getPaytable());
+        assertEquals(1, server.getCachedPaytableCount());
+    }
+
+    @Test
+    void clientWeightsCannotGrowPaytableCacheWithoutBound() {
+        // Каждое написание веса — новый ключ
+        for (int i = 0; i < 500; i++) {
+            server.createSession(3, 4, "1,1,1," + (1 + i / 1000.0), 100);
+        }
+        assertEquals(500, server.getSessionCount());
+        assertTrue(server.getCachedPaytableCount() <= 64, "cached " + server.getCachedPaytableCount());
+    }
+
+    @Test
+    void sessionLimitIsEnforced() throws IOException {
+        server.stop();
+        server = new GameServer(0, new SplitMix64Generator(1), 2, 60_000);
+        server.createSession(3, 4, "", 100);
+        server.createSession(3, 4, "", 100);
+        assertThrows(IllegalStateException.class, () -> server.createSession(3, 4, "", 100));
+    }
+}
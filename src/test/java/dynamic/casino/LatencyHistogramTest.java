@@ -0,0 +1,82 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        for (long value = 0; value < 64; value++) {
+            assertEquals(value, LatencyHistogram.highestValue(LatencyHistogram.index(value)));
+        }
+    }
+
+    @Test
+    void cellsAreMonotoneWithinOneThirtySecond() {
+        int previous = -1;
+        for (long value = 0; value < (1L << 40); value = value < 1000 ? value + 1 : value + value / 97) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(index >= previous, "index decreased at " + value);
+            long high = LatencyHistogram.highestValue(index);
+            assertTrue(high >= value, "cell top below value at " + value);
+            assertTrue(high - value <= value / 32, "cell too wide at " + value);
+            previous = index;
+        }
+    }
+
+    @Test
+    void percentilesOfUniformValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_000.5, histogram.getMean(), 1e-9);
+        assertWithinCell(50_000, histogram.getPercentile(0.5));
+        assertWithinCell(99_000, histogram.getPercentile(0.99));
+        assertWithinCell(99_900, histogram.getPercentile(0.999));
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(100_000, histogram.getPercentile(1));
+    }
+
+    @Test
+    void negativeValuesCountAsZeroAndResetClears() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(10);
+        assertEquals(0, histogram.getPercentile(0.5));
+        assertEquals(10, histogram.getMax());
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0.99));
+        assertEquals(0, histogram.getMean());
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(1.5));
+    }
+
+    @Test
+    void concurrentRecordsAreNotLost() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(1000);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400_000, histogram.getCount());
+        assertEquals(1000, histogram.getMean(), 1e-9);
+    }
+
+    // Ответ — верхняя граница ячейки квантиля: не меньше точного значения и не дальше 1/32 от него
+    private static void assertWithinCell(long exact, long actual) {
+        assertTrue(actual >= exact && actual - exact <= exact / 32, exact + " -> " + actual);
+    }
+}
@@ -0,0 +1,43 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloVerifierTest {
+
+    @Test
+    void wilsonIntervalMatchesReferenceValues() {
+        // 50 из 100 при z = 1.96: интервал Уилсона 0.4038..0.5962
+        MonteCarloResult result = new MonteCarloResult(3, 1, 2, 100, 50, 0.5, 1.96, 1);
+        assertEquals(0.4038, result.getLowerBound(), 1e-4);
+        assertEquals(0.5962, result.getUpperBound(), 1e-4);
+        assertTrue(result.isAnalyticWithinInterval());
+    }
+
+    @Test
+    void wilsonIntervalStaysInsideUnitRangeAtZeroWins() {
+        MonteCarloResult result = new MonteCarloResult(3, 1, 8, 1000, 0, 0.001, MonteCarloVerifier.DEFAULT_Z, 1);
+        assertEquals(0, result.getLowerBound(), 1e-12);
+        assertTrue(result.getUpperBound() > 0 && result.getUpperBound() < 0.02);
+    }
+
+    @Test
+    void seededRunIsReproducibleAndAgreesWithAnalyticProbability() {
+        MonteCarloVerifier verifier = new MonteCarloVerifier();
+        MonteCarloResult first = verifier.verify(3, 1, 4, 1_000_000, new SplitMix64Generator(7));
+        MonteCarloResult second = verifier.verify(3, 1, 4, 1_000_000, new SplitMix64Generator(7));
+        assertEquals(first.getWins(), second.getWins());
+        assertEquals(1.0 / 16, first.getAnalyticProbability(), 1e-12);
+        assertTrue(first.isAnalyticWithinInterval(), first.toString());
+    }
+
+    @Test
+    void weightedRunAgreesWithAnalyticProbability() {
+        ReelWeights weights = ReelWeights.parse("3,1,1", 3, 3);
+        MonteCarloResult result = new MonteCarloVerifier().verify(3, 1, weights, 1_000_000, new SplitMix64Generator(11));
+        // 0.6^3 + 2 * 0.2^3
+        assertEquals(0.232, result.getAnalyticProbability(), 1e-12);
+        assertTrue(result.isAnalyticWithinInterval(), result.toString());
+    }
+}
@@ -0,0 +1,158 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaytableTest {
+
+    @Test
+    void fullTableMatchesDirectRun() {
+        // 6^5 помещается в MAX_TABLE_SIZE — выплата целиком из таблицы
+        assertMatchesDirectRun(5, 6);
+    }
+
+    @Test
+    void partialTableFallbackMatchesDirectRun() {
+        // 8^10 не помещается: таблица по первым колонкам, дальше серия проверяется явно
+        assertTrue(Math.pow(8, 10) > Paytable.MAX_TABLE_SIZE);
+        assertMatchesDirectRun(10, 8);
+    }
+
+    @Test
+    void targetRtpPaysOnlyFullLines() {
+        Paytable paytable = Paytable.forTargetRtp(ReelWeights.uniform(3, 4), 0.96);
+        // p линии = 1 / 64 на символ, равная доля 0.24 даёт floor(0.24 * 64) = 15;
+        // остаток 0.96 - 60 / 64 хватает ещё на одну единицу, она уходит символу 0
+        assertEquals(16, paytable.getMultiplier(0, 3));
+        for (int symbol = 1; symbol < 4; symbol++) {
+            assertEquals(15, paytable.getMultiplier(symbol, 3));
+        }
+        for (int symbol = 0; symbol < 4; symbol++) {
+            assertEquals(0, paytable.getMultiplier(symbol, 2));
+        }
+        assertEquals(15, paytable.payout(new int[] {2, 2, 2}));
+        assertEquals(0, paytable.payout(new int[] {2, 2, 1}));
+    }
+
+    @Test
+    void targetRtpIsNeverExceededOverSweepGrid() {
+        ProbabilityEngine engine = new ProbabilityEngine();
+        for (double target : new double[] {0.95, 0.935, 0.5}) {
+            for (int columns = 2; columns <= ConfigSweep.MAX_COLUMNS; columns++) {
+                for (int symbols = 1; symbols <= ConfigSweep.MAX_SYMBOLS; symbols++) {
+                    for (String preset : ConfigSweep.PRESETS) {
+                        ReelWeights weights = ReelWeights.parse(ConfigSweep.presetSpec(preset, symbols), columns, symbols);
+                        int[][] multipliers = Paytable.targetRtpMultipliers(weights, target);
+                        double[] pays = new double[symbols];
+                        double minLine = 1;
+                        boolean capped = false;
+                        for (int symbol = 0; symbol < symbols; symbol++) {
+                            pays[symbol] = multipliers[symbol][columns];
+                            capped |= multipliers[symbol][columns] == Integer.MAX_VALUE;
+                            double p = 1;
+                            for (int col = 0; col < columns; col++) {
+                                p *= weights.probability(col, symbol);
+                            }
+                            minLine = Math.min(minLine, p);
+                        }
+                        double rtp = engine.evaluate(new ProbabilityModel(
+                            weights.toReels(), 1, ReelLayout.gameLines(columns), pays)).getRtp();
+                        String config = columns + "x" + symbols + " " + preset + " target " + target;
+                        assertTrue(rtp <= target + 1e-12, config + ": rtp " + rtp);
+                        // Остаток бюджета меньше вероятности самой редкой линии, иначе его бы раздали;
+                        // исключение — множитель упёрся в Integer.MAX_VALUE
+                        if (capped) {
+                            continue;
+                        }
+                        if (minLine <= target) {
+                            assertTrue(rtp > target - minLine - 1e-12, config + ": rtp " + rtp);
+                        } else {
+                            assertEquals(0, rtp, config);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void unpayableConfigurationIsFlagged() {
+        assertFalse(Paytable.forTargetRtp(ReelWeights.uniform(3, 1), 0.95).paysAnything());
+        assertTrue(Paytable.forTargetRtp(ReelWeights.parse("3,1", 2, 2), 0.95).paysAnything());
+        // 2×2 с весами 3,1: линия символа 0 — 9/16, символа 1 — 1/16; RTP 0.9375, а не 1
+        Paytable heavy = Paytable.forTargetRtp(ReelWeights.parse("3,1", 2, 2), 0.95);
+        double rtp = heavy.getMultiplier(0, 2) * 9 / 16.0 + heavy.getMultiplier(1, 2) / 16.0;
+        assertEquals(0.9375, rtp, 1e-12);
+    }
+
+    @Test
+    void jackpotLineIsRarestFullLineAndRare() {
+        ProgressiveJackpot jackpot = new ProgressiveJackpot();
+        // 3×8 при равных весах — 1 / 512, слишком часто для джекпота
+        Paytable common = Paytable.forTargetRtp(ReelWeights.uniform(3, 8), 0.95, jackpot);
+        assertFalse(common.hasJackpot());
+        assertFalse(common.isJackpotLine(new SpinResult(new int[] {0, 0, 0}, true, 0)));
+        assertEquals(Paytable.forTargetRtp(ReelWeights.uniform(3, 8), 0.95), common);
+
+        // 5×8 при равных весах — 1 / 32768; при равенстве берётся символ с наибольшим номером
+        Paytable uniform = Paytable.forTargetRtp(ReelWeights.uniform(5, 8), 0.95, jackpot);
+        assertEquals(7, uniform.getJackpotSymbol());
+        assertTrue(uniform.isJackpotLine(new SpinResult(new int[] {7, 7, 7, 7, 7}, true, 0)));
+        assertFalse(uniform.isJackpotLine(new SpinResult(new int[] {0, 0, 0, 0, 0}, true, 0)));
+
+        // Самая редкая линия, а не первый символ
+        ReelWeights descending = ReelWeights.parse("8,7,6,5,4,3,2,1", 5, 8);
+        assertEquals(7, Paytable.forTargetRtp(descending, 0.95, jackpot).getJackpotSymbol());
+        ReelWeights ascending = ReelWeights.parse("1,2,3,4,5,6,7,8", 5, 8);
+        assertEquals(0, Paytable.forTargetRtp(ascending, 0.95, jackpot).getJackpotSymbol());
+    }
+
+    @Test
+    void linesLeaveRoomForJackpotContributions() {
+        ProgressiveJackpot jackpot = new ProgressiveJackpot();
+        for (int columns = 2; columns <= ConfigSweep.MAX_COLUMNS; columns++) {
+            for (int symbols = 1; symbols <= ConfigSweep.MAX_SYMBOLS; symbols++) {
+                ReelWeights weights = ReelWeights.uniform(columns, symbols);
+                Paytable paytable = Paytable.forTargetRtp(weights, 0.95, jackpot);
+                double rtp = new ProbabilityEngine().evaluate(new ProbabilityModel(
+                    weights.toReels(), 1, ReelLayout.gameLines(columns), paytable.getLinePays())).getRtp();
+                double jackpotShare = paytable.hasJackpot() ? jackpot.getContributionRate() : 0;
+                assertTrue(rtp + jackpotShare <= 0.95 + 1e-12, columns + "x" + symbols + ": rtp " + rtp);
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new Paytable(0, 3, new int[3][1]));
+        assertThrows(IllegalArgumentException.class, () -> new Paytable(3, 256, new int[256][4]));
+        assertThrows(IllegalArgumentException.class, () -> new Paytable(3, 3, new int[2][4]));
+        assertThrows(IllegalArgumentException.class, () -> new Paytable(3, 2, new int[][] {{0, 0, -1, 0}, {0, 0, 0, 0}}));
+    }
+
+    private static void assertMatchesDirectRun(int columns, int symbols) {
+        int[][] multipliers = new int[symbols][columns + 1];
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            for (int run = 1; run <= columns; run++) {
+                multipliers[symbol][run] = (symbol + 1) * 100 + run;
+            }
+        }
+        Paytable paytable = new Paytable(columns, symbols, multipliers);
+        SplitMix64Generator rng = new SplitMix64Generator(columns * 31L + symbols);
+        int[] stops = new int[columns];
+        for (int i = 0; i < 200_000; i++) {
+            // Длинные серии случайно почти не выпадают, поэтому префикс задаём явно
+            int prefix = 1 + rng.nextInt(columns);
+            int symbol = rng.nextInt(symbols);
+            for (int col = 0; col < columns; col++) {
+                stops[col] = col < prefix ? symbol : rng.nextInt(symbols);
+            }
+            int run = 1;
+            while (run < columns && stops[run] == stops[0]) {
+                run++;
+            }
+            assertEquals(multipliers[stops[0]][run], paytable.payout(stops));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProbabilityEngineTest {
+    private static final double EPS = 1e-12;
+
+    @Test
+    void uniformGameMatchesClosedForm() {
+        // Одна линия из 3 барабанов по 4 символа: выигрыш — три одинаковых, 4 / 4^3
+        ProbabilityReport report = new ProbabilityEngine().evaluate(ProbabilityModel.uniform(3, 4));
+        assertEquals(1.0 / 16, report.getWinProbability(), EPS);
+        assertEquals(1.0 / 16, report.getRtp(), EPS);
+    }
+
+    @Test
+    void weightedReelsMatchBruteForce() {
+        List<WeightedReel> reels = List.of(
+            WeightedReel.ofSymbolWeights(new double[] {1, 2, 3}),
+            WeightedReel.ofSymbolWeights(new double[] {3, 0, 1}),
+            WeightedReel.ofSymbolWeights(new double[] {2, 2, 1}),
+            WeightedReel.ofSymbolWeights(new double[] {1, 1, 1}));
+        ProbabilityModel model = ProbabilityModel.withReels(reels);
+        assertReportsMatch(bruteForce(model), new ProbabilityEngine().evaluate(model));
+    }
+
+    @Test
+    void multiRowLinesAndPaysMatchBruteForce() {
+        List<WeightedReel> reels = List.of(
+            new WeightedReel(new int[] {0, 1, 2, 0, 3}, new double[] {1, 2, 1, 1, 3}),
+            new WeightedReel(new int[] {1, 0, 3, 2}, new double[] {2, 1, 1, 2}),
+            new WeightedReel(new int[] {2, 0, 1, 3, 0}, new double[] {1, 1, 1, 1, 4}));
+        List<Payline> lines = List.of(
+            Payline.across(3, 0, 3, 0),
+            Payline.across(3, 0, 3, 1),
+            new Payline(new int[] {0, 1, 0}),
+            Payline.across(3, 1, 3, 1));
+        ProbabilityModel model = new ProbabilityModel(reels, 2, lines, new double[] {5, 3, 2, 10});
+        assertReportsMatch(bruteForce(model), new ProbabilityEngine().evaluate(model));
+    }
+
+    @Test
+    void cachesByModel() {
+        ProbabilityEngine engine = new ProbabilityEngine();
+        ProbabilityReport first = engine.evaluate(ProbabilityModel.uniform(5, 8));
+        assertSame(first, engine.evaluate(ProbabilityModel.uniform(5, 8)));
+        assertEquals(1, engine.cacheSize());
+        engine.evaluate(ProbabilityModel.withReels(Collections.nCopies(5, WeightedReel.uniform(7))));
+        assertEquals(2, engine.cacheSize());
+    }
+
+    private static void assertReportsMatch(ProbabilityReport expected, ProbabilityReport actual) {
+        assertEquals(expected.getWinProbability(), actual.getWinProbability(), EPS);
+        assertEquals(expected.getHitFrequency(), actual.getHitFrequency(), EPS);
+        assertEquals(expected.getExpectedPayout(), actual.getExpectedPayout(), EPS);
+        assertEquals(expected.getRtp(), actual.getRtp(), EPS);
+    }
+
+    // Перебор всех комбинаций остановок по определению из Payline
+    private static ProbabilityReport bruteForce(ProbabilityModel model) {
+        List<WeightedReel> reels = model.getReels();
+        int[] stops = new int[reels.size()];
+        double win = 0;
+        double hit = 0;
+        double expected = 0;
+        while (true) {
+            double p = 1;
+            for (int reel = 0; reel < stops.length; reel++) {
+                p *= reels.get(reel).stopProbability(stops[reel]);
+            }
+            boolean anyLine = false;
+            double payout = 0;
+            for (Payline line : model.getLines()) {
+                int symbol = -1;
+                boolean same = true;
+                for (int reel = 0; reel < stops.length; reel++) {
+                    int row = line.rowOn(reel);
+                    if (row == Payline.NONE) {
+                        continue;
+                    }
+                    int s = reels.get(reel).symbolAt(stops[reel], row);
+                    if (symbol == -1) {
+                        symbol = s;
+                    } else if (s != symbol) {
+                        same = false;
+                    }
+                }
+                if (same && line.getReelCount() >= 2) {
+                    anyLine = true;
+                    payout += model.getSymbolPay(symbol);
+                }
+            }
+            if (anyLine) {
+                win += p;
+            }
+            if (payout > 0) {
+                hit += p;
+            }
+            expected += p * payout;
+
+            int reel = 0;
+            while (reel < stops.length && ++stops[reel] == reels.get(reel).size()) {
+                stops[reel++] = 0;
+            }
+            if (reel == stops.length) {
+                break;
+            }
+        }
+        return new ProbabilityReport(win, hit, expected, expected / model.getLines().size());
+    }
+}
@@ -0,0 +1,110 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressiveJackpotTest {
+
+    @Test
+    void paysSeedPlusContributions() {
+        ProgressiveJackpot jackpot = new ProgressiveJackpot(1000, 0.01, 0.005, 1);
+        assertEquals(0.015, jackpot.getContributionRate(), 1e-12);
+        jackpot.contribute(10_000);
+        assertEquals(1100, jackpot.getPool());
+        assertEquals(50_000, jackpot.getReserveMillis());
+        assertEquals(1100, jackpot.payout());
+        assertEquals(1, jackpot.getPayouts());
+    }
+
+    @Test
+    void nextJackpotStartsFromWholeReserve() {
+        ProgressiveJackpot jackpot = new ProgressiveJackpot(100, 0.01, 0.005, 1);
+        jackpot.contribute(4000); // резерв 20 кредитов — меньше начальной суммы
+        jackpot.payout();
+        assertEquals(20, jackpot.getPool());
+        assertEquals(0, jackpot.getReserveMillis());
+
+        jackpot.contribute(100_000); // резерв 500 кредитов — больше начальной суммы, не задерживается
+        assertEquals(20 + 1000, jackpot.payout());
+        assertEquals(500, jackpot.getPool());
+        assertEquals(0, jackpot.getReserveMillis());
+    }
+
+    @Test
+    void returnsExactlyContributionRateOverTime() {
+        ProgressiveJackpot jackpot = new ProgressiveJackpot(1000, 0.01, 0.005, 1);
+        long bets = 0;
+        long paid = 0;
+        for (int round = 0; round < 50; round++) {
+            jackpot.contribute(20_000);
+            bets += 20_000;
+            paid += jackpot.payout();
+        }
+        // Всё, кроме начальной суммы и ещё не выигранного пула, вернулось игрокам
+        long returnedMillis = paid * ProgressiveJackpot.MILLIS_PER_CREDIT - 1000 * ProgressiveJackpot.MILLIS_PER_CREDIT
+            + jackpot.getPoolMillis();
+        assertEquals(bets * 15, returnedMillis);
+        assertEquals(0, jackpot.getReserveMillis());
+    }
+
+    @Test
+    void sharedIsOnePerProcess() {
+        assertSame(ProgressiveJackpot.shared(), ProgressiveJackpot.shared());
+    }
+
+    @Test
+    void fractionalRemainderStaysInPool() {
+        ProgressiveJackpot jackpot = new ProgressiveJackpot(0, 0.01, 0, 1);
+        jackpot.contribute(150); // 1.5 кредита
+        assertEquals(1, jackpot.payout());
+        assertEquals(500, jackpot.getPoolMillis());
+    }
+
+    @Test
+    void concurrentContributionsAndPayoutsConserveMoney() throws InterruptedException {
+        ProgressiveJackpot jackpot = new ProgressiveJackpot(1000, 0.01, 0.005, 8);
+        int threads = 8;
+        int betsPerThread = 200_000;
+        AtomicLong paid = new AtomicLong();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < betsPerThread; i++) {
+                    jackpot.contribute(1 + (i + offset) % 5);
+                    if (i % 10_000 == offset) {
+                        paid.addAndGet(jackpot.payout());
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long bets = 0;
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < betsPerThread; i++) {
+                bets += 1 + (i + t) % 5;
+            }
+        }
+        // Начальная сумма вносится один раз, дальше деньги только переходят между пулом, резервом и выплатами
+        long contributed = bets * 15;
+        long seed = 1000 * ProgressiveJackpot.MILLIS_PER_CREDIT;
+        assertEquals(seed + contributed,
+            paid.get() * ProgressiveJackpot.MILLIS_PER_CREDIT + jackpot.getPoolMillis() + jackpot.getReserveMillis());
+        assertEquals(threads * betsPerThread / 10_000, jackpot.getPayouts());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new ProgressiveJackpot(-1, 0.01, 0.005));
+        assertThrows(IllegalArgumentException.class, () -> new ProgressiveJackpot(1000, -0.01, 0.005));
+        assertThrows(IllegalArgumentException.class, () -> new ProgressiveJackpot(1000, 0.6, 0.4));
+        assertThrows(IllegalArgumentException.class, () -> new ProgressiveJackpot(1000, Double.NaN, 0));
+    }
+}
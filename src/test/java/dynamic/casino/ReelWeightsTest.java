@@ -0,0 +1,64 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReelWeightsTest {
+
+    @Test
+    void blankSpecIsUniform() {
+        ReelWeights weights = ReelWeights.parse("  ", 3, 4);
+        assertTrue(weights.isUniform());
+        assertEquals(ReelWeights.uniform(3, 4), weights);
+        assertEquals(0.25, weights.probability(2, 3), 1e-12);
+    }
+
+    @Test
+    void singleGroupAppliesToEveryReel() {
+        ReelWeights weights = ReelWeights.parse("1,3", 3, 3);
+        assertFalse(weights.isUniform());
+        for (int reel = 0; reel < 3; reel++) {
+            // Недостающий третий вес считается равным 1
+            assertEquals(0.2, weights.probability(reel, 0), 1e-12);
+            assertEquals(0.6, weights.probability(reel, 1), 1e-12);
+            assertEquals(0.2, weights.probability(reel, 2), 1e-12);
+        }
+        assertEquals("1,3,1;1,3,1;1,3,1", weights.toString());
+    }
+
+    @Test
+    void groupPerReelAndExtraWeightsDropped() {
+        ReelWeights weights = ReelWeights.parse("1,1,9;2,,0.5", 2, 2);
+        assertEquals("1,1;2,1", weights.toString());
+        assertEquals(ReelWeights.parse(weights.toString(), 2, 2), weights);
+    }
+
+    @Test
+    void normalizedWeightsCompareByProbability() {
+        assertEquals(ReelWeights.parse("3", 4, 1).normalized(), ReelWeights.parse("0.5", 4, 1).normalized());
+        assertEquals(ReelWeights.parse("2,2", 3, 2).normalized(), ReelWeights.uniform(3, 2).normalized());
+        assertNotEquals(ReelWeights.parse("3,1", 3, 2).normalized(), ReelWeights.uniform(3, 2).normalized());
+        assertEquals(0.75, ReelWeights.parse("3,1", 3, 2).normalized().probability(1, 0), 1e-12);
+    }
+
+    @Test
+    void rejectsWrongGroupCount() {
+        assertThrows(IllegalArgumentException.class, () -> ReelWeights.parse("1,1;1,1", 3, 2));
+    }
+
+    @Test
+    void rejectsNegativeWeight() {
+        assertThrows(IllegalArgumentException.class, () -> ReelWeights.parse("1,-2", 2, 2));
+    }
+
+    @Test
+    void rejectsNonNumericWeight() {
+        assertThrows(IllegalArgumentException.class, () -> ReelWeights.parse("1,x", 2, 2));
+    }
+
+    @Test
+    void rejectsAllZeroReel() {
+        assertThrows(IllegalArgumentException.class, () -> ReelWeights.parse("0,0", 2, 2));
+    }
+}
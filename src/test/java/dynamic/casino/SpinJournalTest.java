@@ -0,0 +1,155 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpinJournalTest {
+    private static final long FLUSH_MS = 60_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        try (SpinJournal journal = SpinJournal.open(directory, 16, FLUSH_MS)) {
+            journal.append(1000, 7, 42, 0, new int[] {1, 2, 3}, 3, false, 0);
+            journal.append(1001, 7, 42, 3, new int[] {4, 4, 4}, 3, true, 50);
+            assertEquals(2, journal.getSequence());
+        }
+        List<SpinRecord> records = readAll();
+        assertEquals(2, records.size());
+        SpinRecord win = records.get(1);
+        assertEquals(1001, win.getTimestamp());
+        assertEquals(1, win.getSequence());
+        assertEquals(7, win.getConfigId());
+        assertEquals(42, win.getSeed());
+        assertEquals(3, win.getPosition());
+        assertArrayEquals(new int[] {4, 4, 4}, win.getStops());
+        assertTrue(win.isWin());
+        assertEquals(50, win.getPayout());
+    }
+
+    @Test
+    void rollsSegmentsAndKeepsTheChain() throws IOException {
+        append(10, 3);
+        assertEquals(4, SpinJournal.segments(directory).size());
+        List<SpinRecord> records = readAll();
+        assertEquals(10, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i, records.get(i).getSequence());
+        }
+        try (SpinJournalReader reader = SpinJournalReader.open(directory)) {
+            reader.seek(7);
+            assertEquals(7, reader.next().getSequence());
+        }
+    }
+
+    @Test
+    void reopeningContinuesTheSequence() throws IOException {
+        append(5, 3);
+        append(4, 3);
+        List<SpinRecord> records = readAll();
+        assertEquals(9, records.size());
+        assertEquals(8, records.get(8).getSequence());
+    }
+
+    @Test
+    void brokenSegmentHeaderIsDetected() throws IOException {
+        append(6, 3);
+        Path second = SpinJournal.segments(directory).get(1);
+        write(second, SpinJournal.HEADER_PREVIOUS_CRC, 0xDEADBEEF);
+        IOException e = assertThrows(IOException.class, this::readAll);
+        assertTrue(e.getMessage().contains("chain"), e.getMessage());
+    }
+
+    @Test
+    void tornTailIsOverwritten() throws IOException {
+        append(5, 16);
+        Path segment = SpinJournal.segments(directory).get(0);
+        // Запись 4 оборвалась на середине: часть байт на месте, CRC не сходится, дальше нули
+        write(segment, recordOffset(4) + SpinJournal.CRC, 0);
+
+        try (SpinJournal journal = SpinJournal.open(directory, 16, FLUSH_MS)) {
+            assertEquals(4, journal.getSequence());
+            journal.append(2000, 1, 1, 0, new int[] {0, 0, 0}, 3, false, 0);
+        }
+        assertEquals(1, SpinJournal.segments(directory).size());
+        List<SpinRecord> records = readAll();
+        assertEquals(5, records.size());
+        assertEquals(2000, records.get(4).getTimestamp());
+    }
+
+    @Test
+    void tamperedRecordIsPreservedAndWritingMovesOn() throws IOException {
+        append(5, 16);
+        Path segment = SpinJournal.segments(directory).get(0);
+        write(segment, recordOffset(2) + SpinJournal.PAYOUT, 1_000_000);
+
+        try (SpinJournal journal = SpinJournal.open(directory, 16, FLUSH_MS)) {
+            // Номера продолжаются после последней записи, а не после испорченной
+            assertEquals(5, journal.getSequence());
+            journal.append(2000, 1, 1, 0, new int[] {0, 0, 0}, 3, false, 0);
+        }
+        assertEquals(2, SpinJournal.segments(directory).size());
+        IOException e = assertThrows(IOException.class, this::readAll);
+        assertTrue(e.getMessage().contains("at record 2"), e.getMessage());
+
+        // Новый сегмент продолжает цепочку от последней записи старого
+        try (SpinJournalReader reader = SpinJournalReader.open(directory)) {
+            reader.seek(5);
+            SpinRecord record = reader.next();
+            assertEquals(5, record.getSequence());
+            assertEquals(2000, record.getTimestamp());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void rejectsTooManyColumns() throws IOException {
+        try (SpinJournal journal = SpinJournal.open(directory, 16, FLUSH_MS)) {
+            int[] stops = new int[SpinJournal.MAX_COLUMNS + 1];
+            assertThrows(IllegalArgumentException.class,
+                () -> journal.append(0, 0, 0, 0, stops, stops.length, false, 0));
+        }
+    }
+
+    private void append(int count, int recordsPerSegment) throws IOException {
+        try (SpinJournal journal = SpinJournal.open(directory, recordsPerSegment, FLUSH_MS)) {
+            for (int i = 0; i < count; i++) {
+                long sequence = journal.getSequence();
+                journal.append(1000 + sequence, 1, 99, sequence * 3, new int[] {i % 4, 1, 2}, 3, false, 0);
+            }
+        }
+    }
+
+    private List<SpinRecord> readAll() throws IOException {
+        List<SpinRecord> records = new ArrayList<>();
+        try (SpinJournalReader reader = SpinJournalReader.open(directory)) {
+            SpinRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private static int recordOffset(int index) {
+        return SpinJournal.HEADER_SIZE + index * SpinJournal.RECORD_SIZE;
+    }
+
+    private static void write(Path segment, int offset, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, value), offset);
+        }
+    }
+}
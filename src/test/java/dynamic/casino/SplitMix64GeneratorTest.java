@@ -0,0 +1,106 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplitMix64GeneratorTest {
+
+    @Test
+    void matchesReferenceVector() {
+        // Эталон splitmix64.c (Vigna) для зерна 1234567
+        SplitMix64Generator rng = new SplitMix64Generator(1234567);
+        assertEquals(Long.parseUnsignedLong("6457827717110365317"), rng.nextLong());
+        assertEquals(Long.parseUnsignedLong("3203168211198807973"), rng.nextLong());
+        assertEquals(Long.parseUnsignedLong("9817491932198370423"), rng.nextLong());
+        assertEquals(Long.parseUnsignedLong("4593380528125082431"), rng.nextLong());
+        assertEquals(Long.parseUnsignedLong("16408922859458223821"), rng.nextLong());
+    }
+
+    @Test
+    void matchesJdkSplittableRandom() {
+        SplitMix64Generator rng = new SplitMix64Generator(42);
+        SplittableRandom jdk = new SplittableRandom(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(jdk.nextLong(), rng.nextLong());
+        }
+    }
+
+    @Test
+    void positionRoundTripsAndRewinds() {
+        SplitMix64Generator rng = new SplitMix64Generator(-5);
+        long[] values = new long[100];
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(i, rng.getPosition());
+            values[i] = rng.nextLong();
+        }
+        rng.setPosition(37);
+        assertEquals(37, rng.getPosition());
+        assertEquals(values[37], rng.nextLong());
+        rng.advance(10);
+        assertEquals(48, rng.getPosition());
+        assertEquals(values[48], rng.nextLong());
+    }
+
+    @Test
+    void splitIsReproducibleAndDiffersFromParent() {
+        SplitMix64Generator a = new SplitMix64Generator(9);
+        SplitMix64Generator b = new SplitMix64Generator(9);
+        SplitMix64Generator childA = a.split();
+        SplitMix64Generator childB = b.split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(childB.nextLong(), childA.nextLong());
+        }
+        assertNotEquals(a.nextLong(), childA.nextLong());
+    }
+
+    @Test
+    void lemireNextIntRejectsBiasedDrawsOnly() {
+        // nextLong = 0 даёт low = 0 < threshold = (2^32 - 3) % 3 = 1: выборка отбрасывается
+        long[] draws = {0L, 0xFFFFFFFF00000000L};
+        SplittableRandomNumberGenerator stub = fixed(draws);
+        assertEquals(2, stub.nextInt(3));
+
+        // Ответ — старшая половина произведения старших 32 бит на bound; low = 10 не меньше bound, проверки нет
+        SplittableRandomNumberGenerator half = fixed(new long[] {0x8000000100000000L});
+        assertEquals(5, half.nextInt(10));
+    }
+
+    @Test
+    void nextIntStaysInRangeAndRejectsBadBounds() {
+        SplitMix64Generator rng = new SplitMix64Generator(3);
+        long[] counts = new long[7];
+        for (int i = 0; i < 700_000; i++) {
+            counts[rng.nextInt(7)]++;
+        }
+        double[] probabilities = new double[7];
+        java.util.Arrays.fill(probabilities, 1.0 / 7);
+        assertTrue(ChiSquare.test(counts, probabilities).getPValue() > 1e-4);
+        assertEquals(0, rng.nextInt(1));
+        assertThrows(IllegalArgumentException.class, () -> rng.nextInt(0));
+        assertThrows(IllegalArgumentException.class, () -> rng.nextInt(-1));
+    }
+
+    private static SplittableRandomNumberGenerator fixed(long[] values) {
+        return new SplittableRandomNumberGenerator() {
+            private int next;
+
+            @Override
+            public long nextLong() {
+                return values[next++];
+            }
+
+            @Override
+            public long getSeed() {
+                return 0;
+            }
+
+            @Override
+            public SplittableRandomNumberGenerator split() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package dynamic.casino;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Xoshiro256StarStarGeneratorTest {
+
+    @Test
+    void matchesReferenceVector() {
+        // Эталон xoshiro256starstar.c для состояния {1, 2, 3, 4}
+        Xoshiro256StarStarGenerator rng = new Xoshiro256StarStarGenerator(0, 1, 2, 3, 4);
+        assertEquals(11520L, rng.nextLong());
+        assertEquals(0L, rng.nextLong());
+        assertEquals(1509978240L, rng.nextLong());
+        assertEquals(1215971899390074240L, rng.nextLong());
+    }
+
+    @Test
+    void seedingIsReproducible() {
+        Xoshiro256StarStarGenerator a = new Xoshiro256StarStarGenerator(77);
+        Xoshiro256StarStarGenerator b = new Xoshiro256StarStarGenerator(77);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+        }
+        assertEquals(-1, a.getPosition());
+    }
+
+    @Test
+    void jumpIsDeterministicAndMovesTheStream() {
+        Xoshiro256StarStarGenerator a = new Xoshiro256StarStarGenerator(5);
+        Xoshiro256StarStarGenerator b = a.copy();
+        long before = a.copy().nextLong();
+        a.jump();
+        b.jump();
+        long after = a.nextLong();
+        assertEquals(after, b.nextLong());
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void splitStreamsDoNotOverlapParentDrawsAfterSplitting() {
+        Xoshiro256StarStarGenerator parent = new Xoshiro256StarStarGenerator(1);
+        Xoshiro256StarStarGenerator first = parent.split();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(seen.add(first.nextLong()));
+        }
+        // Родитель продолжает выдавать значения, затем делится ещё раз
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(seen.add(parent.nextLong()));
+        }
+        Xoshiro256StarStarGenerator second = parent.split();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(seen.add(second.nextLong()));
+            assertTrue(seen.add(parent.nextLong()));
+        }
+    }
+
+    @Test
+    void splitIsReproducible() {
+        Xoshiro256StarStarGenerator a = new Xoshiro256StarStarGenerator(3);
+        Xoshiro256StarStarGenerator b = new Xoshiro256StarStarGenerator(3);
+        a.split();
+        b.split();
+        Xoshiro256StarStarGenerator childA = a.split();
+        Xoshiro256StarStarGenerator childB = b.split();
+        assertEquals(childA.nextLong(), childB.nextLong());
+        assertEquals(a.nextLong(), b.nextLong());
+    }
+}